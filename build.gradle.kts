@@ -17,12 +17,19 @@ dependencies {
     implementation(kotlin("script-runtime"))
     implementation("org.antlr:antlr4:4.13.1")
     implementation("com.github.javaparser:javaparser-symbol-solver-core:3.25.10")
+    implementation("org.javassist:javassist:3.30.2-GA")
 }
 
 tasks.test {
     useJUnitPlatform()
 }
 
+// Benchmarks de débito (ver src/test/kotlin/projeto/Benchmark.kt)
+tasks.register<JavaExec>("benchmark") {
+    mainClass.set("projeto.JBenchmark")
+    classpath = sourceSets["test"].runtimeClasspath
+}
+
 // Define a mesma versão da JVM para a compilação Java e Kotlin
 java {
     toolchain {
@@ -18,8 +18,10 @@ public class JSONLexer extends Lexer {
 		new PredictionContextCache();
 	public static final int
 		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
-		T__9=10, T__10=11, T__11=12, OP=13, PARAMETER=14, ID=15, STRING=16, NUMBER=17, 
-		INT=18, BOOLEAN=19, NULLVALUE=20, WHITESPACE=21;
+		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
+		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
+		T__24=25, T__25=26, OP=27, COMPARATOR=28, PARAMETER=29, ID=30, STRING=31, 
+		NUMBER=32, INT=33, BOOLEAN=34, NULLVALUE=35, WHITESPACE=36;
 	public static String[] channelNames = {
 		"DEFAULT_TOKEN_CHANNEL", "HIDDEN"
 	};
@@ -31,8 +33,10 @@ public class JSONLexer extends Lexer {
 	private static String[] makeRuleNames() {
 		return new String[] {
 			"T__0", "T__1", "T__2", "T__3", "T__4", "T__5", "T__6", "T__7", "T__8", 
-			"T__9", "T__10", "T__11", "OP", "PARAMETER", "ID", "STRING", "NUMBER", 
-			"INT", "BOOLEAN", "NULLVALUE", "WHITESPACE", "ESC", "UNICODE", "HEX"
+			"T__9", "T__10", "T__11", "T__12", "T__13", "T__14", "T__15", "T__16", 
+			"T__17", "T__18", "T__19", "T__20", "T__21", "T__22", "T__23", "T__24", 
+			"T__25", "OP", "COMPARATOR", "PARAMETER", "ID", "STRING", "NUMBER", "INT", 
+			"BOOLEAN", "NULLVALUE", "WHITESPACE", "ESC", "UNICODE", "HEX"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -40,15 +44,18 @@ public class JSONLexer extends Lexer {
 	private static String[] makeLiteralNames() {
 		return new String[] {
 			null, "'{'", "','", "'}'", "':'", "'['", "']'", "'load'", "'to'", "'save'", 
-			"'='", "'.'", "'|'", null, null, null, null, null, null, null, "'null'"
+			"'='", "'join'", "'on'", "'.'", "'|'", "'BY'", "'SORT'", "'DESC'", "'TOP'", 
+			"'and'", "'DISTINCT'", "'APPROX_DISTINCT'", "'MEDIAN'", "'P50'", "'P90'", 
+			"'P95'", "'P99'", null, null, null, null, null, null, null, null, "'null'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
 	private static String[] makeSymbolicNames() {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, "OP", "PARAMETER", "ID", "STRING", "NUMBER", "INT", "BOOLEAN", 
-			"NULLVALUE", "WHITESPACE"
+			null, null, null, null, null, null, null, null, null, null, null, null, 
+			null, null, null, "OP", "COMPARATOR", "PARAMETER", "ID", "STRING", "NUMBER", 
+			"INT", "BOOLEAN", "NULLVALUE", "WHITESPACE"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -110,125 +117,201 @@ public class JSONLexer extends Lexer {
 	public ATN getATN() { return _ATN; }
 
 	public static final String _serializedATN =
-		"\u0004\u0000\u0015\u00bc\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002"+
-		"\u0001\u0007\u0001\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002"+
-		"\u0004\u0007\u0004\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002"+
-		"\u0007\u0007\u0007\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002"+
-		"\u000b\u0007\u000b\u0002\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e"+
-		"\u0002\u000f\u0007\u000f\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011"+
-		"\u0002\u0012\u0007\u0012\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014"+
-		"\u0002\u0015\u0007\u0015\u0002\u0016\u0007\u0016\u0002\u0017\u0007\u0017"+
-		"\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0002\u0001\u0002"+
+		"\u0004\u0000$\u0132\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002\u0001"+
+		"\u0007\u0001\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004"+
+		"\u0007\u0004\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007"+
+		"\u0007\u0007\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b"+
+		"\u0007\u000b\u0002\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e\u0002"+
+		"\u000f\u0007\u000f\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011\u0002"+
+		"\u0012\u0007\u0012\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014\u0002"+
+		"\u0015\u0007\u0015\u0002\u0016\u0007\u0016\u0002\u0017\u0007\u0017\u0002"+
+		"\u0018\u0007\u0018\u0002\u0019\u0007\u0019\u0002\u001a\u0007\u001a\u0002"+
+		"\u001b\u0007\u001b\u0002\u001c\u0007\u001c\u0002\u001d\u0007\u001d\u0002"+
+		"\u001e\u0007\u001e\u0002\u001f\u0007\u001f\u0002 \u0007 \u0002!\u0007"+
+		"!\u0002\"\u0007\"\u0002#\u0007#\u0002$\u0007$\u0002%\u0007%\u0002&\u0007"+
+		"&\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0002\u0001\u0002"+
 		"\u0001\u0003\u0001\u0003\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005"+
 		"\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0007"+
 		"\u0001\u0007\u0001\u0007\u0001\b\u0001\b\u0001\b\u0001\b\u0001\b\u0001"+
-		"\t\u0001\t\u0001\n\u0001\n\u0001\u000b\u0001\u000b\u0001\f\u0001\f\u0001"+
-		"\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001"+
-		"\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0003\fb\b\f\u0001\r\u0001"+
-		"\r\u0001\r\u0001\u000e\u0001\u000e\u0005\u000ei\b\u000e\n\u000e\f\u000e"+
-		"l\t\u000e\u0001\u000f\u0001\u000f\u0001\u000f\u0005\u000fq\b\u000f\n\u000f"+
-		"\f\u000ft\t\u000f\u0001\u000f\u0001\u000f\u0001\u0010\u0003\u0010y\b\u0010"+
-		"\u0001\u0010\u0001\u0010\u0001\u0010\u0004\u0010~\b\u0010\u000b\u0010"+
-		"\f\u0010\u007f\u0003\u0010\u0082\b\u0010\u0001\u0010\u0003\u0010\u0085"+
-		"\b\u0010\u0001\u0010\u0001\u0010\u0004\u0010\u0089\b\u0010\u000b\u0010"+
-		"\f\u0010\u008a\u0003\u0010\u008d\b\u0010\u0001\u0011\u0001\u0011\u0001"+
-		"\u0011\u0005\u0011\u0092\b\u0011\n\u0011\f\u0011\u0095\t\u0011\u0003\u0011"+
-		"\u0097\b\u0011\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0012"+
-		"\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0012\u0003\u0012\u00a2\b\u0012"+
-		"\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0014"+
-		"\u0004\u0014\u00aa\b\u0014\u000b\u0014\f\u0014\u00ab\u0001\u0014\u0001"+
-		"\u0014\u0001\u0015\u0001\u0015\u0001\u0015\u0003\u0015\u00b3\b\u0015\u0001"+
-		"\u0016\u0001\u0016\u0001\u0016\u0001\u0016\u0001\u0016\u0001\u0016\u0001"+
-		"\u0017\u0001\u0017\u0000\u0000\u0018\u0001\u0001\u0003\u0002\u0005\u0003"+
-		"\u0007\u0004\t\u0005\u000b\u0006\r\u0007\u000f\b\u0011\t\u0013\n\u0015"+
-		"\u000b\u0017\f\u0019\r\u001b\u000e\u001d\u000f\u001f\u0010!\u0011#\u0012"+
-		"%\u0013\'\u0014)\u0015+\u0000-\u0000/\u0000\u0001\u0000\b\u0003\u0000"+
-		"AZ__az\u0004\u000009AZ__az\u0002\u0000\"\"\\\\\u0001\u000009\u0001\u0000"+
-		"19\u0003\u0000\t\n\r\r  \b\u0000\"\"//\\\\bbffnnrrtt\u0003\u000009AFa"+
-		"f\u00ca\u0000\u0001\u0001\u0000\u0000\u0000\u0000\u0003\u0001\u0000\u0000"+
-		"\u0000\u0000\u0005\u0001\u0000\u0000\u0000\u0000\u0007\u0001\u0000\u0000"+
-		"\u0000\u0000\t\u0001\u0000\u0000\u0000\u0000\u000b\u0001\u0000\u0000\u0000"+
-		"\u0000\r\u0001\u0000\u0000\u0000\u0000\u000f\u0001\u0000\u0000\u0000\u0000"+
-		"\u0011\u0001\u0000\u0000\u0000\u0000\u0013\u0001\u0000\u0000\u0000\u0000"+
-		"\u0015\u0001\u0000\u0000\u0000\u0000\u0017\u0001\u0000\u0000\u0000\u0000"+
-		"\u0019\u0001\u0000\u0000\u0000\u0000\u001b\u0001\u0000\u0000\u0000\u0000"+
-		"\u001d\u0001\u0000\u0000\u0000\u0000\u001f\u0001\u0000\u0000\u0000\u0000"+
-		"!\u0001\u0000\u0000\u0000\u0000#\u0001\u0000\u0000\u0000\u0000%\u0001"+
-		"\u0000\u0000\u0000\u0000\'\u0001\u0000\u0000\u0000\u0000)\u0001\u0000"+
-		"\u0000\u0000\u00011\u0001\u0000\u0000\u0000\u00033\u0001\u0000\u0000\u0000"+
-		"\u00055\u0001\u0000\u0000\u0000\u00077\u0001\u0000\u0000\u0000\t9\u0001"+
-		"\u0000\u0000\u0000\u000b;\u0001\u0000\u0000\u0000\r=\u0001\u0000\u0000"+
-		"\u0000\u000fB\u0001\u0000\u0000\u0000\u0011E\u0001\u0000\u0000\u0000\u0013"+
-		"J\u0001\u0000\u0000\u0000\u0015L\u0001\u0000\u0000\u0000\u0017N\u0001"+
-		"\u0000\u0000\u0000\u0019a\u0001\u0000\u0000\u0000\u001bc\u0001\u0000\u0000"+
-		"\u0000\u001df\u0001\u0000\u0000\u0000\u001fm\u0001\u0000\u0000\u0000!"+
-		"\u008c\u0001\u0000\u0000\u0000#\u0096\u0001\u0000\u0000\u0000%\u00a1\u0001"+
-		"\u0000\u0000\u0000\'\u00a3\u0001\u0000\u0000\u0000)\u00a9\u0001\u0000"+
-		"\u0000\u0000+\u00af\u0001\u0000\u0000\u0000-\u00b4\u0001\u0000\u0000\u0000"+
-		"/\u00ba\u0001\u0000\u0000\u000012\u0005{\u0000\u00002\u0002\u0001\u0000"+
-		"\u0000\u000034\u0005,\u0000\u00004\u0004\u0001\u0000\u0000\u000056\u0005"+
-		"}\u0000\u00006\u0006\u0001\u0000\u0000\u000078\u0005:\u0000\u00008\b\u0001"+
-		"\u0000\u0000\u00009:\u0005[\u0000\u0000:\n\u0001\u0000\u0000\u0000;<\u0005"+
-		"]\u0000\u0000<\f\u0001\u0000\u0000\u0000=>\u0005l\u0000\u0000>?\u0005"+
-		"o\u0000\u0000?@\u0005a\u0000\u0000@A\u0005d\u0000\u0000A\u000e\u0001\u0000"+
-		"\u0000\u0000BC\u0005t\u0000\u0000CD\u0005o\u0000\u0000D\u0010\u0001\u0000"+
-		"\u0000\u0000EF\u0005s\u0000\u0000FG\u0005a\u0000\u0000GH\u0005v\u0000"+
-		"\u0000HI\u0005e\u0000\u0000I\u0012\u0001\u0000\u0000\u0000JK\u0005=\u0000"+
-		"\u0000K\u0014\u0001\u0000\u0000\u0000LM\u0005.\u0000\u0000M\u0016\u0001"+
-		"\u0000\u0000\u0000NO\u0005|\u0000\u0000O\u0018\u0001\u0000\u0000\u0000"+
-		"PQ\u0005S\u0000\u0000QR\u0005U\u0000\u0000Rb\u0005M\u0000\u0000ST\u0005"+
-		"M\u0000\u0000TU\u0005A\u0000\u0000Ub\u0005X\u0000\u0000VW\u0005M\u0000"+
-		"\u0000WX\u0005I\u0000\u0000Xb\u0005N\u0000\u0000YZ\u0005C\u0000\u0000"+
-		"Z[\u0005O\u0000\u0000[\\\u0005U\u0000\u0000\\]\u0005N\u0000\u0000]b\u0005"+
-		"T\u0000\u0000^_\u0005A\u0000\u0000_`\u0005V\u0000\u0000`b\u0005G\u0000"+
-		"\u0000aP\u0001\u0000\u0000\u0000aS\u0001\u0000\u0000\u0000aV\u0001\u0000"+
-		"\u0000\u0000aY\u0001\u0000\u0000\u0000a^\u0001\u0000\u0000\u0000b\u001a"+
-		"\u0001\u0000\u0000\u0000cd\u0005$\u0000\u0000de\u0003#\u0011\u0000e\u001c"+
-		"\u0001\u0000\u0000\u0000fj\u0007\u0000\u0000\u0000gi\u0007\u0001\u0000"+
-		"\u0000hg\u0001\u0000\u0000\u0000il\u0001\u0000\u0000\u0000jh\u0001\u0000"+
-		"\u0000\u0000jk\u0001\u0000\u0000\u0000k\u001e\u0001\u0000\u0000\u0000"+
-		"lj\u0001\u0000\u0000\u0000mr\u0005\"\u0000\u0000nq\u0003+\u0015\u0000"+
-		"oq\b\u0002\u0000\u0000pn\u0001\u0000\u0000\u0000po\u0001\u0000\u0000\u0000"+
-		"qt\u0001\u0000\u0000\u0000rp\u0001\u0000\u0000\u0000rs\u0001\u0000\u0000"+
-		"\u0000su\u0001\u0000\u0000\u0000tr\u0001\u0000\u0000\u0000uv\u0005\"\u0000"+
-		"\u0000v \u0001\u0000\u0000\u0000wy\u0005-\u0000\u0000xw\u0001\u0000\u0000"+
-		"\u0000xy\u0001\u0000\u0000\u0000yz\u0001\u0000\u0000\u0000z\u0081\u0003"+
-		"#\u0011\u0000{}\u0005.\u0000\u0000|~\u0007\u0003\u0000\u0000}|\u0001\u0000"+
-		"\u0000\u0000~\u007f\u0001\u0000\u0000\u0000\u007f}\u0001\u0000\u0000\u0000"+
-		"\u007f\u0080\u0001\u0000\u0000\u0000\u0080\u0082\u0001\u0000\u0000\u0000"+
-		"\u0081{\u0001\u0000\u0000\u0000\u0081\u0082\u0001\u0000\u0000\u0000\u0082"+
-		"\u008d\u0001\u0000\u0000\u0000\u0083\u0085\u0005-\u0000\u0000\u0084\u0083"+
-		"\u0001\u0000\u0000\u0000\u0084\u0085\u0001\u0000\u0000\u0000\u0085\u0086"+
-		"\u0001\u0000\u0000\u0000\u0086\u0088\u0005.\u0000\u0000\u0087\u0089\u0007"+
-		"\u0003\u0000\u0000\u0088\u0087\u0001\u0000\u0000\u0000\u0089\u008a\u0001"+
-		"\u0000\u0000\u0000\u008a\u0088\u0001\u0000\u0000\u0000\u008a\u008b\u0001"+
-		"\u0000\u0000\u0000\u008b\u008d\u0001\u0000\u0000\u0000\u008cx\u0001\u0000"+
-		"\u0000\u0000\u008c\u0084\u0001\u0000\u0000\u0000\u008d\"\u0001\u0000\u0000"+
-		"\u0000\u008e\u0097\u00050\u0000\u0000\u008f\u0093\u0007\u0004\u0000\u0000"+
-		"\u0090\u0092\u0007\u0003\u0000\u0000\u0091\u0090\u0001\u0000\u0000\u0000"+
-		"\u0092\u0095\u0001\u0000\u0000\u0000\u0093\u0091\u0001\u0000\u0000\u0000"+
-		"\u0093\u0094\u0001\u0000\u0000\u0000\u0094\u0097\u0001\u0000\u0000\u0000"+
-		"\u0095\u0093\u0001\u0000\u0000\u0000\u0096\u008e\u0001\u0000\u0000\u0000"+
-		"\u0096\u008f\u0001\u0000\u0000\u0000\u0097$\u0001\u0000\u0000\u0000\u0098"+
-		"\u0099\u0005t\u0000\u0000\u0099\u009a\u0005r\u0000\u0000\u009a\u009b\u0005"+
-		"u\u0000\u0000\u009b\u00a2\u0005e\u0000\u0000\u009c\u009d\u0005f\u0000"+
-		"\u0000\u009d\u009e\u0005a\u0000\u0000\u009e\u009f\u0005l\u0000\u0000\u009f"+
-		"\u00a0\u0005s\u0000\u0000\u00a0\u00a2\u0005e\u0000\u0000\u00a1\u0098\u0001"+
-		"\u0000\u0000\u0000\u00a1\u009c\u0001\u0000\u0000\u0000\u00a2&\u0001\u0000"+
-		"\u0000\u0000\u00a3\u00a4\u0005n\u0000\u0000\u00a4\u00a5\u0005u\u0000\u0000"+
-		"\u00a5\u00a6\u0005l\u0000\u0000\u00a6\u00a7\u0005l\u0000\u0000\u00a7("+
-		"\u0001\u0000\u0000\u0000\u00a8\u00aa\u0007\u0005\u0000\u0000\u00a9\u00a8"+
-		"\u0001\u0000\u0000\u0000\u00aa\u00ab\u0001\u0000\u0000\u0000\u00ab\u00a9"+
-		"\u0001\u0000\u0000\u0000\u00ab\u00ac\u0001\u0000\u0000\u0000\u00ac\u00ad"+
-		"\u0001\u0000\u0000\u0000\u00ad\u00ae\u0006\u0014\u0000\u0000\u00ae*\u0001"+
-		"\u0000\u0000\u0000\u00af\u00b2\u0005\\\u0000\u0000\u00b0\u00b3\u0007\u0006"+
-		"\u0000\u0000\u00b1\u00b3\u0003-\u0016\u0000\u00b2\u00b0\u0001\u0000\u0000"+
-		"\u0000\u00b2\u00b1\u0001\u0000\u0000\u0000\u00b3,\u0001\u0000\u0000\u0000"+
-		"\u00b4\u00b5\u0005u\u0000\u0000\u00b5\u00b6\u0003/\u0017\u0000\u00b6\u00b7"+
-		"\u0003/\u0017\u0000\u00b7\u00b8\u0003/\u0017\u0000\u00b8\u00b9\u0003/"+
-		"\u0017\u0000\u00b9.\u0001\u0000\u0000\u0000\u00ba\u00bb\u0007\u0007\u0000"+
-		"\u0000\u00bb0\u0001\u0000\u0000\u0000\u0010\u0000ajprx\u007f\u0081\u0084"+
-		"\u008a\u008c\u0093\u0096\u00a1\u00ab\u00b2\u0001\u0006\u0000\u0000";
+		"\t\u0001\t\u0001\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b"+
+		"\u0001\u000b\u0001\f\u0001\f\u0001\r\u0001\r\u0001\u000e\u0001\u000e\u0001"+
+		"\u000e\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u000f\u0001"+
+		"\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0011\u0001"+
+		"\u0011\u0001\u0011\u0001\u0011\u0001\u0012\u0001\u0012\u0001\u0012\u0001"+
+		"\u0012\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0013\u0001"+
+		"\u0013\u0001\u0013\u0001\u0013\u0001\u0013\u0001\u0014\u0001\u0014\u0001"+
+		"\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001"+
+		"\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014\u0001"+
+		"\u0014\u0001\u0014\u0001\u0015\u0001\u0015\u0001\u0015\u0001\u0015\u0001"+
+		"\u0015\u0001\u0015\u0001\u0015\u0001\u0016\u0001\u0016\u0001\u0016\u0001"+
+		"\u0016\u0001\u0017\u0001\u0017\u0001\u0017\u0001\u0017\u0001\u0018\u0001"+
+		"\u0018\u0001\u0018\u0001\u0018\u0001\u0019\u0001\u0019\u0001\u0019\u0001"+
+		"\u0019\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001"+
+		"\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001"+
+		"\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0003"+
+		"\u001a\u00cd\b\u001a\u0001\u001b\u0001\u001b\u0001\u001b\u0001\u001b\u0001"+
+		"\u001b\u0001\u001b\u0001\u001b\u0001\u001b\u0001\u001b\u0003\u001b\u00d8"+
+		"\b\u001b\u0001\u001c\u0001\u001c\u0001\u001c\u0001\u001d\u0001\u001d\u0005"+
+		"\u001d\u00df\b\u001d\n\u001d\f\u001d\u00e2\t\u001d\u0001\u001e\u0001\u001e"+
+		"\u0001\u001e\u0005\u001e\u00e7\b\u001e\n\u001e\f\u001e\u00ea\t\u001e\u0001"+
+		"\u001e\u0001\u001e\u0001\u001f\u0003\u001f\u00ef\b\u001f\u0001\u001f\u0001"+
+		"\u001f\u0001\u001f\u0004\u001f\u00f4\b\u001f\u000b\u001f\f\u001f\u00f5"+
+		"\u0003\u001f\u00f8\b\u001f\u0001\u001f\u0003\u001f\u00fb\b\u001f\u0001"+
+		"\u001f\u0001\u001f\u0004\u001f\u00ff\b\u001f\u000b\u001f\f\u001f\u0100"+
+		"\u0003\u001f\u0103\b\u001f\u0001 \u0001 \u0001 \u0005 \u0108\b \n \f "+
+		"\u010b\t \u0003 \u010d\b \u0001!\u0001!\u0001!\u0001!\u0001!\u0001!\u0001"+
+		"!\u0001!\u0001!\u0003!\u0118\b!\u0001\"\u0001\"\u0001\"\u0001\"\u0001"+
+		"\"\u0001#\u0004#\u0120\b#\u000b#\f#\u0121\u0001#\u0001#\u0001$\u0001$"+
+		"\u0001$\u0003$\u0129\b$\u0001%\u0001%\u0001%\u0001%\u0001%\u0001%\u0001"+
+		"&\u0001&\u0000\u0000\'\u0001\u0001\u0003\u0002\u0005\u0003\u0007\u0004"+
+		"\t\u0005\u000b\u0006\r\u0007\u000f\b\u0011\t\u0013\n\u0015\u000b\u0017"+
+		"\f\u0019\r\u001b\u000e\u001d\u000f\u001f\u0010!\u0011#\u0012%\u0013\'"+
+		"\u0014)\u0015+\u0016-\u0017/\u00181\u00193\u001a5\u001b7\u001c9\u001d"+
+		";\u001e=\u001f? A!C\"E#G$I\u0000K\u0000M\u0000\u0001\u0000\t\u0002\u0000"+
+		"<<>>\u0003\u0000AZ__az\u0004\u000009AZ__az\u0002\u0000\"\"\\\\\u0001\u0000"+
+		"09\u0001\u000019\u0003\u0000\t\n\r\r  \b\u0000\"\"//\\\\bbffnnrrtt\u0003"+
+		"\u000009AFaf\u0144\u0000\u0001\u0001\u0000\u0000\u0000\u0000\u0003\u0001"+
+		"\u0000\u0000\u0000\u0000\u0005\u0001\u0000\u0000\u0000\u0000\u0007\u0001"+
+		"\u0000\u0000\u0000\u0000\t\u0001\u0000\u0000\u0000\u0000\u000b\u0001\u0000"+
+		"\u0000\u0000\u0000\r\u0001\u0000\u0000\u0000\u0000\u000f\u0001\u0000\u0000"+
+		"\u0000\u0000\u0011\u0001\u0000\u0000\u0000\u0000\u0013\u0001\u0000\u0000"+
+		"\u0000\u0000\u0015\u0001\u0000\u0000\u0000\u0000\u0017\u0001\u0000\u0000"+
+		"\u0000\u0000\u0019\u0001\u0000\u0000\u0000\u0000\u001b\u0001\u0000\u0000"+
+		"\u0000\u0000\u001d\u0001\u0000\u0000\u0000\u0000\u001f\u0001\u0000\u0000"+
+		"\u0000\u0000!\u0001\u0000\u0000\u0000\u0000#\u0001\u0000\u0000\u0000\u0000"+
+		"%\u0001\u0000\u0000\u0000\u0000\'\u0001\u0000\u0000\u0000\u0000)\u0001"+
+		"\u0000\u0000\u0000\u0000+\u0001\u0000\u0000\u0000\u0000-\u0001\u0000\u0000"+
+		"\u0000\u0000/\u0001\u0000\u0000\u0000\u00001\u0001\u0000\u0000\u0000\u0000"+
+		"3\u0001\u0000\u0000\u0000\u00005\u0001\u0000\u0000\u0000\u00007\u0001"+
+		"\u0000\u0000\u0000\u00009\u0001\u0000\u0000\u0000\u0000;\u0001\u0000\u0000"+
+		"\u0000\u0000=\u0001\u0000\u0000\u0000\u0000?\u0001\u0000\u0000\u0000\u0000"+
+		"A\u0001\u0000\u0000\u0000\u0000C\u0001\u0000\u0000\u0000\u0000E\u0001"+
+		"\u0000\u0000\u0000\u0000G\u0001\u0000\u0000\u0000\u0001O\u0001\u0000\u0000"+
+		"\u0000\u0003Q\u0001\u0000\u0000\u0000\u0005S\u0001\u0000\u0000\u0000\u0007"+
+		"U\u0001\u0000\u0000\u0000\tW\u0001\u0000\u0000\u0000\u000bY\u0001\u0000"+
+		"\u0000\u0000\r[\u0001\u0000\u0000\u0000\u000f`\u0001\u0000\u0000\u0000"+
+		"\u0011c\u0001\u0000\u0000\u0000\u0013h\u0001\u0000\u0000\u0000\u0015j"+
+		"\u0001\u0000\u0000\u0000\u0017o\u0001\u0000\u0000\u0000\u0019r\u0001\u0000"+
+		"\u0000\u0000\u001bt\u0001\u0000\u0000\u0000\u001dv\u0001\u0000\u0000\u0000"+
+		"\u001fy\u0001\u0000\u0000\u0000!~\u0001\u0000\u0000\u0000#\u0083\u0001"+
+		"\u0000\u0000\u0000%\u0087\u0001\u0000\u0000\u0000\'\u008b\u0001\u0000"+
+		"\u0000\u0000)\u0094\u0001\u0000\u0000\u0000+\u00a4\u0001\u0000\u0000\u0000"+
+		"-\u00ab\u0001\u0000\u0000\u0000/\u00af\u0001\u0000\u0000\u00001\u00b3"+
+		"\u0001\u0000\u0000\u00003\u00b7\u0001\u0000\u0000\u00005\u00cc\u0001\u0000"+
+		"\u0000\u00007\u00d7\u0001\u0000\u0000\u00009\u00d9\u0001\u0000\u0000\u0000"+
+		";\u00dc\u0001\u0000\u0000\u0000=\u00e3\u0001\u0000\u0000\u0000?\u0102"+
+		"\u0001\u0000\u0000\u0000A\u010c\u0001\u0000\u0000\u0000C\u0117\u0001\u0000"+
+		"\u0000\u0000E\u0119\u0001\u0000\u0000\u0000G\u011f\u0001\u0000\u0000\u0000"+
+		"I\u0125\u0001\u0000\u0000\u0000K\u012a\u0001\u0000\u0000\u0000M\u0130"+
+		"\u0001\u0000\u0000\u0000OP\u0005{\u0000\u0000P\u0002\u0001\u0000\u0000"+
+		"\u0000QR\u0005,\u0000\u0000R\u0004\u0001\u0000\u0000\u0000ST\u0005}\u0000"+
+		"\u0000T\u0006\u0001\u0000\u0000\u0000UV\u0005:\u0000\u0000V\b\u0001\u0000"+
+		"\u0000\u0000WX\u0005[\u0000\u0000X\n\u0001\u0000\u0000\u0000YZ\u0005]"+
+		"\u0000\u0000Z\f\u0001\u0000\u0000\u0000[\\\u0005l\u0000\u0000\\]\u0005"+
+		"o\u0000\u0000]^\u0005a\u0000\u0000^_\u0005d\u0000\u0000_\u000e\u0001\u0000"+
+		"\u0000\u0000`a\u0005t\u0000\u0000ab\u0005o\u0000\u0000b\u0010\u0001\u0000"+
+		"\u0000\u0000cd\u0005s\u0000\u0000de\u0005a\u0000\u0000ef\u0005v\u0000"+
+		"\u0000fg\u0005e\u0000\u0000g\u0012\u0001\u0000\u0000\u0000hi\u0005=\u0000"+
+		"\u0000i\u0014\u0001\u0000\u0000\u0000jk\u0005j\u0000\u0000kl\u0005o\u0000"+
+		"\u0000lm\u0005i\u0000\u0000mn\u0005n\u0000\u0000n\u0016\u0001\u0000\u0000"+
+		"\u0000op\u0005o\u0000\u0000pq\u0005n\u0000\u0000q\u0018\u0001\u0000\u0000"+
+		"\u0000rs\u0005.\u0000\u0000s\u001a\u0001\u0000\u0000\u0000tu\u0005|\u0000"+
+		"\u0000u\u001c\u0001\u0000\u0000\u0000vw\u0005B\u0000\u0000wx\u0005Y\u0000"+
+		"\u0000x\u001e\u0001\u0000\u0000\u0000yz\u0005S\u0000\u0000z{\u0005O\u0000"+
+		"\u0000{|\u0005R\u0000\u0000|}\u0005T\u0000\u0000} \u0001\u0000\u0000\u0000"+
+		"~\u007f\u0005D\u0000\u0000\u007f\u0080\u0005E\u0000\u0000\u0080\u0081"+
+		"\u0005S\u0000\u0000\u0081\u0082\u0005C\u0000\u0000\u0082\"\u0001\u0000"+
+		"\u0000\u0000\u0083\u0084\u0005T\u0000\u0000\u0084\u0085\u0005O\u0000\u0000"+
+		"\u0085\u0086\u0005P\u0000\u0000\u0086$\u0001\u0000\u0000\u0000\u0087\u0088"+
+		"\u0005a\u0000\u0000\u0088\u0089\u0005n\u0000\u0000\u0089\u008a\u0005d"+
+		"\u0000\u0000\u008a&\u0001\u0000\u0000\u0000\u008b\u008c\u0005D\u0000\u0000"+
+		"\u008c\u008d\u0005I\u0000\u0000\u008d\u008e\u0005S\u0000\u0000\u008e\u008f"+
+		"\u0005T\u0000\u0000\u008f\u0090\u0005I\u0000\u0000\u0090\u0091\u0005N"+
+		"\u0000\u0000\u0091\u0092\u0005C\u0000\u0000\u0092\u0093\u0005T\u0000\u0000"+
+		"\u0093(\u0001\u0000\u0000\u0000\u0094\u0095\u0005A\u0000\u0000\u0095\u0096"+
+		"\u0005P\u0000\u0000\u0096\u0097\u0005P\u0000\u0000\u0097\u0098\u0005R"+
+		"\u0000\u0000\u0098\u0099\u0005O\u0000\u0000\u0099\u009a\u0005X\u0000\u0000"+
+		"\u009a\u009b\u0005_\u0000\u0000\u009b\u009c\u0005D\u0000\u0000\u009c\u009d"+
+		"\u0005I\u0000\u0000\u009d\u009e\u0005S\u0000\u0000\u009e\u009f\u0005T"+
+		"\u0000\u0000\u009f\u00a0\u0005I\u0000\u0000\u00a0\u00a1\u0005N\u0000\u0000"+
+		"\u00a1\u00a2\u0005C\u0000\u0000\u00a2\u00a3\u0005T\u0000\u0000\u00a3*"+
+		"\u0001\u0000\u0000\u0000\u00a4\u00a5\u0005M\u0000\u0000\u00a5\u00a6\u0005"+
+		"E\u0000\u0000\u00a6\u00a7\u0005D\u0000\u0000\u00a7\u00a8\u0005I\u0000"+
+		"\u0000\u00a8\u00a9\u0005A\u0000\u0000\u00a9\u00aa\u0005N\u0000\u0000\u00aa"+
+		",\u0001\u0000\u0000\u0000\u00ab\u00ac\u0005P\u0000\u0000\u00ac\u00ad\u0005"+
+		"5\u0000\u0000\u00ad\u00ae\u00050\u0000\u0000\u00ae.\u0001\u0000\u0000"+
+		"\u0000\u00af\u00b0\u0005P\u0000\u0000\u00b0\u00b1\u00059\u0000\u0000\u00b1"+
+		"\u00b2\u00050\u0000\u0000\u00b20\u0001\u0000\u0000\u0000\u00b3\u00b4\u0005"+
+		"P\u0000\u0000\u00b4\u00b5\u00059\u0000\u0000\u00b5\u00b6\u00055\u0000"+
+		"\u0000\u00b62\u0001\u0000\u0000\u0000\u00b7\u00b8\u0005P\u0000\u0000\u00b8"+
+		"\u00b9\u00059\u0000\u0000\u00b9\u00ba\u00059\u0000\u0000\u00ba4\u0001"+
+		"\u0000\u0000\u0000\u00bb\u00bc\u0005S\u0000\u0000\u00bc\u00bd\u0005U\u0000"+
+		"\u0000\u00bd\u00cd\u0005M\u0000\u0000\u00be\u00bf\u0005M\u0000\u0000\u00bf"+
+		"\u00c0\u0005A\u0000\u0000\u00c0\u00cd\u0005X\u0000\u0000\u00c1\u00c2\u0005"+
+		"M\u0000\u0000\u00c2\u00c3\u0005I\u0000\u0000\u00c3\u00cd\u0005N\u0000"+
+		"\u0000\u00c4\u00c5\u0005C\u0000\u0000\u00c5\u00c6\u0005O\u0000\u0000\u00c6"+
+		"\u00c7\u0005U\u0000\u0000\u00c7\u00c8\u0005N\u0000\u0000\u00c8\u00cd\u0005"+
+		"T\u0000\u0000\u00c9\u00ca\u0005A\u0000\u0000\u00ca\u00cb\u0005V\u0000"+
+		"\u0000\u00cb\u00cd\u0005G\u0000\u0000\u00cc\u00bb\u0001\u0000\u0000\u0000"+
+		"\u00cc\u00be\u0001\u0000\u0000\u0000\u00cc\u00c1\u0001\u0000\u0000\u0000"+
+		"\u00cc\u00c4\u0001\u0000\u0000\u0000\u00cc\u00c9\u0001\u0000\u0000\u0000"+
+		"\u00cd6\u0001\u0000\u0000\u0000\u00ce\u00cf\u0005=\u0000\u0000\u00cf\u00d8"+
+		"\u0005=\u0000\u0000\u00d0\u00d1\u0005!\u0000\u0000\u00d1\u00d8\u0005="+
+		"\u0000\u0000\u00d2\u00d3\u0005>\u0000\u0000\u00d3\u00d8\u0005=\u0000\u0000"+
+		"\u00d4\u00d5\u0005<\u0000\u0000\u00d5\u00d8\u0005=\u0000\u0000\u00d6\u00d8"+
+		"\u0007\u0000\u0000\u0000\u00d7\u00ce\u0001\u0000\u0000\u0000\u00d7\u00d0"+
+		"\u0001\u0000\u0000\u0000\u00d7\u00d2\u0001\u0000\u0000\u0000\u00d7\u00d4"+
+		"\u0001\u0000\u0000\u0000\u00d7\u00d6\u0001\u0000\u0000\u0000\u00d88\u0001"+
+		"\u0000\u0000\u0000\u00d9\u00da\u0005$\u0000\u0000\u00da\u00db\u0003A "+
+		"\u0000\u00db:\u0001\u0000\u0000\u0000\u00dc\u00e0\u0007\u0001\u0000\u0000"+
+		"\u00dd\u00df\u0007\u0002\u0000\u0000\u00de\u00dd\u0001\u0000\u0000\u0000"+
+		"\u00df\u00e2\u0001\u0000\u0000\u0000\u00e0\u00de\u0001\u0000\u0000\u0000"+
+		"\u00e0\u00e1\u0001\u0000\u0000\u0000\u00e1<\u0001\u0000\u0000\u0000\u00e2"+
+		"\u00e0\u0001\u0000\u0000\u0000\u00e3\u00e8\u0005\"\u0000\u0000\u00e4\u00e7"+
+		"\u0003I$\u0000\u00e5\u00e7\b\u0003\u0000\u0000\u00e6\u00e4\u0001\u0000"+
+		"\u0000\u0000\u00e6\u00e5\u0001\u0000\u0000\u0000\u00e7\u00ea\u0001\u0000"+
+		"\u0000\u0000\u00e8\u00e6\u0001\u0000\u0000\u0000\u00e8\u00e9\u0001\u0000"+
+		"\u0000\u0000\u00e9\u00eb\u0001\u0000\u0000\u0000\u00ea\u00e8\u0001\u0000"+
+		"\u0000\u0000\u00eb\u00ec\u0005\"\u0000\u0000\u00ec>\u0001\u0000\u0000"+
+		"\u0000\u00ed\u00ef\u0005-\u0000\u0000\u00ee\u00ed\u0001\u0000\u0000\u0000"+
+		"\u00ee\u00ef\u0001\u0000\u0000\u0000\u00ef\u00f0\u0001\u0000\u0000\u0000"+
+		"\u00f0\u00f7\u0003A \u0000\u00f1\u00f3\u0005.\u0000\u0000\u00f2\u00f4"+
+		"\u0007\u0004\u0000\u0000\u00f3\u00f2\u0001\u0000\u0000\u0000\u00f4\u00f5"+
+		"\u0001\u0000\u0000\u0000\u00f5\u00f3\u0001\u0000\u0000\u0000\u00f5\u00f6"+
+		"\u0001\u0000\u0000\u0000\u00f6\u00f8\u0001\u0000\u0000\u0000\u00f7\u00f1"+
+		"\u0001\u0000\u0000\u0000\u00f7\u00f8\u0001\u0000\u0000\u0000\u00f8\u0103"+
+		"\u0001\u0000\u0000\u0000\u00f9\u00fb\u0005-\u0000\u0000\u00fa\u00f9\u0001"+
+		"\u0000\u0000\u0000\u00fa\u00fb\u0001\u0000\u0000\u0000\u00fb\u00fc\u0001"+
+		"\u0000\u0000\u0000\u00fc\u00fe\u0005.\u0000\u0000\u00fd\u00ff\u0007\u0004"+
+		"\u0000\u0000\u00fe\u00fd\u0001\u0000\u0000\u0000\u00ff\u0100\u0001\u0000"+
+		"\u0000\u0000\u0100\u00fe\u0001\u0000\u0000\u0000\u0100\u0101\u0001\u0000"+
+		"\u0000\u0000\u0101\u0103\u0001\u0000\u0000\u0000\u0102\u00ee\u0001\u0000"+
+		"\u0000\u0000\u0102\u00fa\u0001\u0000\u0000\u0000\u0103@\u0001\u0000\u0000"+
+		"\u0000\u0104\u010d\u00050\u0000\u0000\u0105\u0109\u0007\u0005\u0000\u0000"+
+		"\u0106\u0108\u0007\u0004\u0000\u0000\u0107\u0106\u0001\u0000\u0000\u0000"+
+		"\u0108\u010b\u0001\u0000\u0000\u0000\u0109\u0107\u0001\u0000\u0000\u0000"+
+		"\u0109\u010a\u0001\u0000\u0000\u0000\u010a\u010d\u0001\u0000\u0000\u0000"+
+		"\u010b\u0109\u0001\u0000\u0000\u0000\u010c\u0104\u0001\u0000\u0000\u0000"+
+		"\u010c\u0105\u0001\u0000\u0000\u0000\u010dB\u0001\u0000\u0000\u0000\u010e"+
+		"\u010f\u0005t\u0000\u0000\u010f\u0110\u0005r\u0000\u0000\u0110\u0111\u0005"+
+		"u\u0000\u0000\u0111\u0118\u0005e\u0000\u0000\u0112\u0113\u0005f\u0000"+
+		"\u0000\u0113\u0114\u0005a\u0000\u0000\u0114\u0115\u0005l\u0000\u0000\u0115"+
+		"\u0116\u0005s\u0000\u0000\u0116\u0118\u0005e\u0000\u0000\u0117\u010e\u0001"+
+		"\u0000\u0000\u0000\u0117\u0112\u0001\u0000\u0000\u0000\u0118D\u0001\u0000"+
+		"\u0000\u0000\u0119\u011a\u0005n\u0000\u0000\u011a\u011b\u0005u\u0000\u0000"+
+		"\u011b\u011c\u0005l\u0000\u0000\u011c\u011d\u0005l\u0000\u0000\u011dF"+
+		"\u0001\u0000\u0000\u0000\u011e\u0120\u0007\u0006\u0000\u0000\u011f\u011e"+
+		"\u0001\u0000\u0000\u0000\u0120\u0121\u0001\u0000\u0000\u0000\u0121\u011f"+
+		"\u0001\u0000\u0000\u0000\u0121\u0122\u0001\u0000\u0000\u0000\u0122\u0123"+
+		"\u0001\u0000\u0000\u0000\u0123\u0124\u0006#\u0000\u0000\u0124H\u0001\u0000"+
+		"\u0000\u0000\u0125\u0128\u0005\\\u0000\u0000\u0126\u0129\u0007\u0007\u0000"+
+		"\u0000\u0127\u0129\u0003K%\u0000\u0128\u0126\u0001\u0000\u0000\u0000\u0128"+
+		"\u0127\u0001\u0000\u0000\u0000\u0129J\u0001\u0000\u0000\u0000\u012a\u012b"+
+		"\u0005u\u0000\u0000\u012b\u012c\u0003M&\u0000\u012c\u012d\u0003M&\u0000"+
+		"\u012d\u012e\u0003M&\u0000\u012e\u012f\u0003M&\u0000\u012fL\u0001\u0000"+
+		"\u0000\u0000\u0130\u0131\u0007\b\u0000\u0000\u0131N\u0001\u0000\u0000"+
+		"\u0000\u0011\u0000\u00cc\u00d7\u00e0\u00e6\u00e8\u00ee\u00f5\u00f7\u00fa"+
+		"\u0100\u0102\u0109\u010c\u0117\u0121\u0128\u0001\u0006\u0000\u0000";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
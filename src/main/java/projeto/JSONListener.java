@@ -107,6 +107,16 @@ public interface JSONListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitExpression(JSONParser.ExpressionContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link JSONParser#join}.
+	 * @param ctx the parse tree
+	 */
+	void enterJoin(JSONParser.JoinContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link JSONParser#join}.
+	 * @param ctx the parse tree
+	 */
+	void exitJoin(JSONParser.JoinContext ctx);
 	/**
 	 * Enter a parse tree produced by {@link JSONParser#expressionAccess}.
 	 * @param ctx the parse tree
@@ -117,6 +127,36 @@ public interface JSONListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitExpressionAccess(JSONParser.ExpressionAccessContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link JSONParser#order}.
+	 * @param ctx the parse tree
+	 */
+	void enterOrder(JSONParser.OrderContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link JSONParser#order}.
+	 * @param ctx the parse tree
+	 */
+	void exitOrder(JSONParser.OrderContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link JSONParser#filter}.
+	 * @param ctx the parse tree
+	 */
+	void enterFilter(JSONParser.FilterContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link JSONParser#filter}.
+	 * @param ctx the parse tree
+	 */
+	void exitFilter(JSONParser.FilterContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link JSONParser#comparison}.
+	 * @param ctx the parse tree
+	 */
+	void enterComparison(JSONParser.ComparisonContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link JSONParser#comparison}.
+	 * @param ctx the parse tree
+	 */
+	void exitComparison(JSONParser.ComparisonContext ctx);
 	/**
 	 * Enter a parse tree produced by {@link JSONParser#variable}.
 	 * @param ctx the parse tree
@@ -127,4 +167,24 @@ public interface JSONListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitVariable(JSONParser.VariableContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link JSONParser#operator}.
+	 * @param ctx the parse tree
+	 */
+	void enterOperator(JSONParser.OperatorContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link JSONParser#operator}.
+	 * @param ctx the parse tree
+	 */
+	void exitOperator(JSONParser.OperatorContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link JSONParser#identifier}.
+	 * @param ctx the parse tree
+	 */
+	void enterIdentifier(JSONParser.IdentifierContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link JSONParser#identifier}.
+	 * @param ctx the parse tree
+	 */
+	void exitIdentifier(JSONParser.IdentifierContext ctx);
 }
\ No newline at end of file
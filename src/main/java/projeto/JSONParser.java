@@ -18,16 +18,21 @@ public class JSONParser extends Parser {
 		new PredictionContextCache();
 	public static final int
 		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
-		T__9=10, T__10=11, T__11=12, OP=13, PARAMETER=14, ID=15, STRING=16, NUMBER=17, 
-		INT=18, BOOLEAN=19, NULLVALUE=20, WHITESPACE=21;
+		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
+		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
+		T__24=25, T__25=26, OP=27, COMPARATOR=28, PARAMETER=29, ID=30, STRING=31, 
+		NUMBER=32, INT=33, BOOLEAN=34, NULLVALUE=35, WHITESPACE=36;
 	public static final int
 		RULE_value = 0, RULE_object = 1, RULE_pair = 2, RULE_array = 3, RULE_script = 4, 
 		RULE_instruction = 5, RULE_loadStatement = 6, RULE_saveStatement = 7, 
-		RULE_assign = 8, RULE_expression = 9, RULE_expressionAccess = 10, RULE_variable = 11;
+		RULE_assign = 8, RULE_expression = 9, RULE_join = 10, RULE_expressionAccess = 11, 
+		RULE_order = 12, RULE_filter = 13, RULE_comparison = 14, RULE_variable = 15, 
+		RULE_operator = 16, RULE_identifier = 17;
 	private static String[] makeRuleNames() {
 		return new String[] {
 			"value", "object", "pair", "array", "script", "instruction", "loadStatement", 
-			"saveStatement", "assign", "expression", "expressionAccess", "variable"
+			"saveStatement", "assign", "expression", "join", "expressionAccess", 
+			"order", "filter", "comparison", "variable", "operator", "identifier"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -35,15 +40,18 @@ public class JSONParser extends Parser {
 	private static String[] makeLiteralNames() {
 		return new String[] {
 			null, "'{'", "','", "'}'", "':'", "'['", "']'", "'load'", "'to'", "'save'", 
-			"'='", "'.'", "'|'", null, null, null, null, null, null, null, "'null'"
+			"'='", "'join'", "'on'", "'.'", "'|'", "'BY'", "'SORT'", "'DESC'", "'TOP'", 
+			"'and'", "'DISTINCT'", "'APPROX_DISTINCT'", "'MEDIAN'", "'P50'", "'P90'", 
+			"'P95'", "'P99'", null, null, null, null, null, null, null, null, "'null'"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
 	private static String[] makeSymbolicNames() {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, "OP", "PARAMETER", "ID", "STRING", "NUMBER", "INT", "BOOLEAN", 
-			"NULLVALUE", "WHITESPACE"
+			null, null, null, null, null, null, null, null, null, null, null, null, 
+			null, null, null, "OP", "COMPARATOR", "PARAMETER", "ID", "STRING", "NUMBER", 
+			"INT", "BOOLEAN", "NULLVALUE", "WHITESPACE"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -135,55 +143,69 @@ public class JSONParser extends Parser {
 		ValueContext _localctx = new ValueContext(_ctx, getState());
 		enterRule(_localctx, 0, RULE_value);
 		try {
-			setState(31);
+			setState(43);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case STRING:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(24);
+				setState(36);
 				match(STRING);
 				}
 				break;
 			case NUMBER:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(25);
+				setState(37);
 				match(NUMBER);
 				}
 				break;
 			case T__0:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(26);
+				setState(38);
 				object();
 				}
 				break;
 			case T__4:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(27);
+				setState(39);
 				array();
 				}
 				break;
 			case BOOLEAN:
 				enterOuterAlt(_localctx, 5);
 				{
-				setState(28);
+				setState(40);
 				match(BOOLEAN);
 				}
 				break;
 			case NULLVALUE:
 				enterOuterAlt(_localctx, 6);
 				{
-				setState(29);
+				setState(41);
 				match(NULLVALUE);
 				}
 				break;
+			case T__10:
+			case T__11:
+			case T__14:
+			case T__15:
+			case T__16:
+			case T__17:
+			case T__18:
+			case T__19:
+			case T__20:
+			case T__21:
+			case T__22:
+			case T__23:
+			case T__24:
+			case T__25:
 			case ID:
 				enterOuterAlt(_localctx, 7);
 				{
-				setState(30);
+				setState(42);
 				variable();
 				}
 				break;
@@ -236,35 +258,35 @@ public class JSONParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(33);
+			setState(45);
 			match(T__0);
-			setState(42);
+			setState(54);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==STRING) {
 				{
-				setState(34);
+				setState(46);
 				pair();
-				setState(39);
+				setState(51);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				while (_la==T__1) {
 					{
 					{
-					setState(35);
+					setState(47);
 					match(T__1);
-					setState(36);
+					setState(48);
 					pair();
 					}
 					}
-					setState(41);
+					setState(53);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 				}
 				}
 			}
 
-			setState(44);
+			setState(56);
 			match(T__2);
 			}
 		}
@@ -310,11 +332,11 @@ public class JSONParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(46);
+			setState(58);
 			match(STRING);
-			setState(47);
+			setState(59);
 			match(T__3);
-			setState(48);
+			setState(60);
 			value();
 			}
 		}
@@ -363,35 +385,35 @@ public class JSONParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(50);
+			setState(62);
 			match(T__4);
-			setState(59);
+			setState(71);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			if ((((_la) & ~0x3f) == 0 && ((1L << _la) & 1802274L) != 0)) {
+			if ((((_la) & ~0x3f) == 0 && ((1L << _la) & 59189991458L) != 0)) {
 				{
-				setState(51);
+				setState(63);
 				value();
-				setState(56);
+				setState(68);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				while (_la==T__1) {
 					{
 					{
-					setState(52);
+					setState(64);
 					match(T__1);
-					setState(53);
+					setState(65);
 					value();
 					}
 					}
-					setState(58);
+					setState(70);
 					_errHandler.sync(this);
 					_la = _input.LA(1);
 				}
 				}
 			}
 
-			setState(61);
+			setState(73);
 			match(T__5);
 			}
 		}
@@ -440,20 +462,20 @@ public class JSONParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(64); 
+			setState(76); 
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			do {
 				{
 				{
-				setState(63);
+				setState(75);
 				instruction();
 				}
 				}
-				setState(66); 
+				setState(78); 
 				_errHandler.sync(this);
 				_la = _input.LA(1);
-			} while ( (((_la) & ~0x3f) == 0 && ((1L << _la) & 33408L) != 0) );
+			} while ( (((_la) & ~0x3f) == 0 && ((1L << _la) & 1207933568L) != 0) );
 			}
 		}
 		catch (RecognitionException re) {
@@ -501,27 +523,41 @@ public class JSONParser extends Parser {
 		InstructionContext _localctx = new InstructionContext(_ctx, getState());
 		enterRule(_localctx, 10, RULE_instruction);
 		try {
-			setState(71);
+			setState(83);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case T__6:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(68);
+				setState(80);
 				loadStatement();
 				}
 				break;
 			case T__8:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(69);
+				setState(81);
 				saveStatement();
 				}
 				break;
+			case T__10:
+			case T__11:
+			case T__14:
+			case T__15:
+			case T__16:
+			case T__17:
+			case T__18:
+			case T__19:
+			case T__20:
+			case T__21:
+			case T__22:
+			case T__23:
+			case T__24:
+			case T__25:
 			case ID:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(70);
+				setState(82);
 				assign();
 				}
 				break;
@@ -543,7 +579,9 @@ public class JSONParser extends Parser {
 	@SuppressWarnings("CheckReturnValue")
 	public static class LoadStatementContext extends ParserRuleContext {
 		public TerminalNode PARAMETER() { return getToken(JSONParser.PARAMETER, 0); }
-		public TerminalNode ID() { return getToken(JSONParser.ID, 0); }
+		public IdentifierContext identifier() {
+			return getRuleContext(IdentifierContext.class,0);
+		}
 		public LoadStatementContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -569,14 +607,14 @@ public class JSONParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(73);
+			setState(85);
 			match(T__6);
-			setState(74);
+			setState(86);
 			match(PARAMETER);
-			setState(75);
+			setState(87);
 			match(T__7);
-			setState(76);
-			match(ID);
+			setState(88);
+			identifier();
 			}
 		}
 		catch (RecognitionException re) {
@@ -592,7 +630,9 @@ public class JSONParser extends Parser {
 
 	@SuppressWarnings("CheckReturnValue")
 	public static class SaveStatementContext extends ParserRuleContext {
-		public TerminalNode ID() { return getToken(JSONParser.ID, 0); }
+		public IdentifierContext identifier() {
+			return getRuleContext(IdentifierContext.class,0);
+		}
 		public TerminalNode PARAMETER() { return getToken(JSONParser.PARAMETER, 0); }
 		public SaveStatementContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
@@ -619,13 +659,13 @@ public class JSONParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(78);
+			setState(90);
 			match(T__8);
-			setState(79);
-			match(ID);
-			setState(80);
+			setState(91);
+			identifier();
+			setState(92);
 			match(T__7);
-			setState(81);
+			setState(93);
 			match(PARAMETER);
 			}
 		}
@@ -642,7 +682,9 @@ public class JSONParser extends Parser {
 
 	@SuppressWarnings("CheckReturnValue")
 	public static class AssignContext extends ParserRuleContext {
-		public TerminalNode ID() { return getToken(JSONParser.ID, 0); }
+		public IdentifierContext identifier() {
+			return getRuleContext(IdentifierContext.class,0);
+		}
 		public ExpressionContext expression() {
 			return getRuleContext(ExpressionContext.class,0);
 		}
@@ -671,11 +713,11 @@ public class JSONParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(83);
-			match(ID);
-			setState(84);
+			setState(95);
+			identifier();
+			setState(96);
 			match(T__9);
-			setState(85);
+			setState(97);
 			expression();
 			}
 		}
@@ -692,6 +734,9 @@ public class JSONParser extends Parser {
 
 	@SuppressWarnings("CheckReturnValue")
 	public static class ExpressionContext extends ParserRuleContext {
+		public JoinContext join() {
+			return getRuleContext(JoinContext.class,0);
+		}
 		public ExpressionAccessContext expressionAccess() {
 			return getRuleContext(ExpressionAccessContext.class,0);
 		}
@@ -724,27 +769,34 @@ public class JSONParser extends Parser {
 		ExpressionContext _localctx = new ExpressionContext(_ctx, getState());
 		enterRule(_localctx, 18, RULE_expression);
 		try {
-			setState(90);
+			setState(103);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,7,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(87);
-				expressionAccess();
+				setState(99);
+				join();
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(88);
-				value();
+				setState(100);
+				expressionAccess();
 				}
 				break;
 			case 3:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(89);
+				setState(101);
+				value();
+				}
+				break;
+			case 4:
+				enterOuterAlt(_localctx, 4);
+				{
+				setState(102);
 				variable();
 				}
 				break;
@@ -761,13 +813,94 @@ public class JSONParser extends Parser {
 		return _localctx;
 	}
 
+	@SuppressWarnings("CheckReturnValue")
+	public static class JoinContext extends ParserRuleContext {
+		public List<ExpressionAccessContext> expressionAccess() {
+			return getRuleContexts(ExpressionAccessContext.class);
+		}
+		public ExpressionAccessContext expressionAccess(int i) {
+			return getRuleContext(ExpressionAccessContext.class,i);
+		}
+		public List<IdentifierContext> identifier() {
+			return getRuleContexts(IdentifierContext.class);
+		}
+		public IdentifierContext identifier(int i) {
+			return getRuleContext(IdentifierContext.class,i);
+		}
+		public JoinContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_join; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof JSONListener ) ((JSONListener)listener).enterJoin(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof JSONListener ) ((JSONListener)listener).exitJoin(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof JSONVisitor ) return ((JSONVisitor<? extends T>)visitor).visitJoin(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final JoinContext join() throws RecognitionException {
+		JoinContext _localctx = new JoinContext(_ctx, getState());
+		enterRule(_localctx, 20, RULE_join);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(105);
+			match(T__10);
+			setState(106);
+			expressionAccess();
+			setState(107);
+			match(T__1);
+			setState(108);
+			expressionAccess();
+			setState(109);
+			match(T__11);
+			setState(110);
+			identifier();
+			setState(111);
+			match(T__9);
+			setState(112);
+			identifier();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
 	@SuppressWarnings("CheckReturnValue")
 	public static class ExpressionAccessContext extends ParserRuleContext {
-		public List<TerminalNode> ID() { return getTokens(JSONParser.ID); }
-		public TerminalNode ID(int i) {
-			return getToken(JSONParser.ID, i);
+		public List<IdentifierContext> identifier() {
+			return getRuleContexts(IdentifierContext.class);
+		}
+		public IdentifierContext identifier(int i) {
+			return getRuleContext(IdentifierContext.class,i);
+		}
+		public List<FilterContext> filter() {
+			return getRuleContexts(FilterContext.class);
+		}
+		public FilterContext filter(int i) {
+			return getRuleContext(FilterContext.class,i);
+		}
+		public OperatorContext operator() {
+			return getRuleContext(OperatorContext.class,0);
+		}
+		public OrderContext order() {
+			return getRuleContext(OrderContext.class,0);
 		}
-		public TerminalNode OP() { return getToken(JSONParser.OP, 0); }
 		public ExpressionAccessContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -789,38 +922,94 @@ public class JSONParser extends Parser {
 
 	public final ExpressionAccessContext expressionAccess() throws RecognitionException {
 		ExpressionAccessContext _localctx = new ExpressionAccessContext(_ctx, getState());
-		enterRule(_localctx, 20, RULE_expressionAccess);
+		enterRule(_localctx, 22, RULE_expressionAccess);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(92);
-			match(ID);
-			setState(97);
+			setState(114);
+			identifier();
+			setState(116);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			if (_la==T__4) {
+				{
+				setState(115);
+				filter();
+				}
+			}
+
+			setState(125);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while (_la==T__10) {
+			while (_la==T__12) {
 				{
 				{
-				setState(93);
-				match(T__10);
-				setState(94);
-				match(ID);
+				setState(118);
+				match(T__12);
+				setState(119);
+				identifier();
+				setState(121);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				if (_la==T__4) {
+					{
+					setState(120);
+					filter();
+					}
 				}
+
 				}
-				setState(99);
+				}
+				setState(127);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
-			setState(102);
+			setState(137);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			if (_la==T__11) {
+			if (_la==T__13) {
 				{
-				setState(100);
-				match(T__11);
-				setState(101);
-				match(OP);
+				setState(128);
+				match(T__13);
+				setState(135);
+				_errHandler.sync(this);
+				switch (_input.LA(1)) {
+				case T__19:
+				case T__20:
+				case T__21:
+				case T__22:
+				case T__23:
+				case T__24:
+				case T__25:
+				case OP:
+					{
+					setState(129);
+					operator();
+					setState(132);
+					_errHandler.sync(this);
+					switch ( getInterpreter().adaptivePredict(_input,11,_ctx) ) {
+					case 1:
+						{
+						setState(130);
+						match(T__14);
+						setState(131);
+						identifier();
+						}
+						break;
+					}
+					}
+					break;
+				case T__15:
+				case T__17:
+					{
+					setState(134);
+					order();
+					}
+					break;
+				default:
+					throw new NoViableAltException(this);
+				}
 				}
 			}
 
@@ -837,9 +1026,230 @@ public class JSONParser extends Parser {
 		return _localctx;
 	}
 
+	@SuppressWarnings("CheckReturnValue")
+	public static class OrderContext extends ParserRuleContext {
+		public IdentifierContext identifier() {
+			return getRuleContext(IdentifierContext.class,0);
+		}
+		public TerminalNode NUMBER() { return getToken(JSONParser.NUMBER, 0); }
+		public OrderContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_order; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof JSONListener ) ((JSONListener)listener).enterOrder(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof JSONListener ) ((JSONListener)listener).exitOrder(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof JSONVisitor ) return ((JSONVisitor<? extends T>)visitor).visitOrder(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final OrderContext order() throws RecognitionException {
+		OrderContext _localctx = new OrderContext(_ctx, getState());
+		enterRule(_localctx, 24, RULE_order);
+		try {
+			setState(153);
+			_errHandler.sync(this);
+			switch (_input.LA(1)) {
+			case T__15:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(139);
+				match(T__15);
+				setState(142);
+				_errHandler.sync(this);
+				switch ( getInterpreter().adaptivePredict(_input,14,_ctx) ) {
+				case 1:
+					{
+					setState(140);
+					match(T__14);
+					setState(141);
+					identifier();
+					}
+					break;
+				}
+				setState(145);
+				_errHandler.sync(this);
+				switch ( getInterpreter().adaptivePredict(_input,15,_ctx) ) {
+				case 1:
+					{
+					setState(144);
+					match(T__16);
+					}
+					break;
+				}
+				}
+				break;
+			case T__17:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(147);
+				match(T__17);
+				setState(148);
+				match(NUMBER);
+				setState(151);
+				_errHandler.sync(this);
+				switch ( getInterpreter().adaptivePredict(_input,16,_ctx) ) {
+				case 1:
+					{
+					setState(149);
+					match(T__14);
+					setState(150);
+					identifier();
+					}
+					break;
+				}
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class FilterContext extends ParserRuleContext {
+		public List<ComparisonContext> comparison() {
+			return getRuleContexts(ComparisonContext.class);
+		}
+		public ComparisonContext comparison(int i) {
+			return getRuleContext(ComparisonContext.class,i);
+		}
+		public FilterContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_filter; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof JSONListener ) ((JSONListener)listener).enterFilter(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof JSONListener ) ((JSONListener)listener).exitFilter(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof JSONVisitor ) return ((JSONVisitor<? extends T>)visitor).visitFilter(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final FilterContext filter() throws RecognitionException {
+		FilterContext _localctx = new FilterContext(_ctx, getState());
+		enterRule(_localctx, 26, RULE_filter);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(155);
+			match(T__4);
+			setState(156);
+			comparison();
+			setState(161);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while (_la==T__18) {
+				{
+				{
+				setState(157);
+				match(T__18);
+				setState(158);
+				comparison();
+				}
+				}
+				setState(163);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+			}
+			setState(164);
+			match(T__5);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class ComparisonContext extends ParserRuleContext {
+		public IdentifierContext identifier() {
+			return getRuleContext(IdentifierContext.class,0);
+		}
+		public TerminalNode COMPARATOR() { return getToken(JSONParser.COMPARATOR, 0); }
+		public ValueContext value() {
+			return getRuleContext(ValueContext.class,0);
+		}
+		public ComparisonContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_comparison; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof JSONListener ) ((JSONListener)listener).enterComparison(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof JSONListener ) ((JSONListener)listener).exitComparison(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof JSONVisitor ) return ((JSONVisitor<? extends T>)visitor).visitComparison(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final ComparisonContext comparison() throws RecognitionException {
+		ComparisonContext _localctx = new ComparisonContext(_ctx, getState());
+		enterRule(_localctx, 28, RULE_comparison);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(166);
+			identifier();
+			setState(167);
+			match(COMPARATOR);
+			setState(168);
+			value();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
 	@SuppressWarnings("CheckReturnValue")
 	public static class VariableContext extends ParserRuleContext {
-		public TerminalNode ID() { return getToken(JSONParser.ID, 0); }
+		public IdentifierContext identifier() {
+			return getRuleContext(IdentifierContext.class,0);
+		}
 		public VariableContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -861,12 +1271,116 @@ public class JSONParser extends Parser {
 
 	public final VariableContext variable() throws RecognitionException {
 		VariableContext _localctx = new VariableContext(_ctx, getState());
-		enterRule(_localctx, 22, RULE_variable);
+		enterRule(_localctx, 30, RULE_variable);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(170);
+			identifier();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class OperatorContext extends ParserRuleContext {
+		public TerminalNode OP() { return getToken(JSONParser.OP, 0); }
+		public OperatorContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_operator; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof JSONListener ) ((JSONListener)listener).enterOperator(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof JSONListener ) ((JSONListener)listener).exitOperator(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof JSONVisitor ) return ((JSONVisitor<? extends T>)visitor).visitOperator(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final OperatorContext operator() throws RecognitionException {
+		OperatorContext _localctx = new OperatorContext(_ctx, getState());
+		enterRule(_localctx, 32, RULE_operator);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(172);
+			_la = _input.LA(1);
+			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 267386880L) != 0)) ) {
+			_errHandler.recoverInline(this);
+			}
+			else {
+				if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+				_errHandler.reportMatch(this);
+				consume();
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class IdentifierContext extends ParserRuleContext {
+		public TerminalNode ID() { return getToken(JSONParser.ID, 0); }
+		public IdentifierContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_identifier; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof JSONListener ) ((JSONListener)listener).enterIdentifier(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof JSONListener ) ((JSONListener)listener).exitIdentifier(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof JSONVisitor ) return ((JSONVisitor<? extends T>)visitor).visitIdentifier(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final IdentifierContext identifier() throws RecognitionException {
+		IdentifierContext _localctx = new IdentifierContext(_ctx, getState());
+		enterRule(_localctx, 34, RULE_identifier);
+		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(104);
-			match(ID);
+			setState(174);
+			_la = _input.LA(1);
+			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 1207932928L) != 0)) ) {
+			_errHandler.recoverInline(this);
+			}
+			else {
+				if ( _input.LA(1)==Token.EOF ) matchedEOF = true;
+				_errHandler.reportMatch(this);
+				consume();
+			}
 			}
 		}
 		catch (RecognitionException re) {
@@ -881,67 +1395,111 @@ public class JSONParser extends Parser {
 	}
 
 	public static final String _serializedATN =
-		"\u0004\u0001\u0015k\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
+		"\u0004\u0001$\u00b1\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
 		"\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004\u0007\u0004\u0002"+
 		"\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007\u0007\u0007\u0002"+
-		"\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b\u0007\u000b\u0001"+
-		"\u0000\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0000\u0001"+
-		"\u0000\u0003\u0000 \b\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
-		"\u0001\u0005\u0001&\b\u0001\n\u0001\f\u0001)\t\u0001\u0003\u0001+\b\u0001"+
-		"\u0001\u0001\u0001\u0001\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002"+
-		"\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0005\u00037\b\u0003"+
-		"\n\u0003\f\u0003:\t\u0003\u0003\u0003<\b\u0003\u0001\u0003\u0001\u0003"+
-		"\u0001\u0004\u0004\u0004A\b\u0004\u000b\u0004\f\u0004B\u0001\u0005\u0001"+
-		"\u0005\u0001\u0005\u0003\u0005H\b\u0005\u0001\u0006\u0001\u0006\u0001"+
-		"\u0006\u0001\u0006\u0001\u0006\u0001\u0007\u0001\u0007\u0001\u0007\u0001"+
-		"\u0007\u0001\u0007\u0001\b\u0001\b\u0001\b\u0001\b\u0001\t\u0001\t\u0001"+
-		"\t\u0003\t[\b\t\u0001\n\u0001\n\u0001\n\u0005\n`\b\n\n\n\f\nc\t\n\u0001"+
-		"\n\u0001\n\u0003\ng\b\n\u0001\u000b\u0001\u000b\u0001\u000b\u0000\u0000"+
-		"\f\u0000\u0002\u0004\u0006\b\n\f\u000e\u0010\u0012\u0014\u0016\u0000\u0000"+
-		"o\u0000\u001f\u0001\u0000\u0000\u0000\u0002!\u0001\u0000\u0000\u0000\u0004"+
-		".\u0001\u0000\u0000\u0000\u00062\u0001\u0000\u0000\u0000\b@\u0001\u0000"+
-		"\u0000\u0000\nG\u0001\u0000\u0000\u0000\fI\u0001\u0000\u0000\u0000\u000e"+
-		"N\u0001\u0000\u0000\u0000\u0010S\u0001\u0000\u0000\u0000\u0012Z\u0001"+
-		"\u0000\u0000\u0000\u0014\\\u0001\u0000\u0000\u0000\u0016h\u0001\u0000"+
-		"\u0000\u0000\u0018 \u0005\u0010\u0000\u0000\u0019 \u0005\u0011\u0000\u0000"+
-		"\u001a \u0003\u0002\u0001\u0000\u001b \u0003\u0006\u0003\u0000\u001c "+
-		"\u0005\u0013\u0000\u0000\u001d \u0005\u0014\u0000\u0000\u001e \u0003\u0016"+
-		"\u000b\u0000\u001f\u0018\u0001\u0000\u0000\u0000\u001f\u0019\u0001\u0000"+
-		"\u0000\u0000\u001f\u001a\u0001\u0000\u0000\u0000\u001f\u001b\u0001\u0000"+
-		"\u0000\u0000\u001f\u001c\u0001\u0000\u0000\u0000\u001f\u001d\u0001\u0000"+
-		"\u0000\u0000\u001f\u001e\u0001\u0000\u0000\u0000 \u0001\u0001\u0000\u0000"+
-		"\u0000!*\u0005\u0001\u0000\u0000\"\'\u0003\u0004\u0002\u0000#$\u0005\u0002"+
-		"\u0000\u0000$&\u0003\u0004\u0002\u0000%#\u0001\u0000\u0000\u0000&)\u0001"+
-		"\u0000\u0000\u0000\'%\u0001\u0000\u0000\u0000\'(\u0001\u0000\u0000\u0000"+
-		"(+\u0001\u0000\u0000\u0000)\'\u0001\u0000\u0000\u0000*\"\u0001\u0000\u0000"+
-		"\u0000*+\u0001\u0000\u0000\u0000+,\u0001\u0000\u0000\u0000,-\u0005\u0003"+
-		"\u0000\u0000-\u0003\u0001\u0000\u0000\u0000./\u0005\u0010\u0000\u0000"+
-		"/0\u0005\u0004\u0000\u000001\u0003\u0000\u0000\u00001\u0005\u0001\u0000"+
-		"\u0000\u00002;\u0005\u0005\u0000\u000038\u0003\u0000\u0000\u000045\u0005"+
-		"\u0002\u0000\u000057\u0003\u0000\u0000\u000064\u0001\u0000\u0000\u0000"+
-		"7:\u0001\u0000\u0000\u000086\u0001\u0000\u0000\u000089\u0001\u0000\u0000"+
-		"\u00009<\u0001\u0000\u0000\u0000:8\u0001\u0000\u0000\u0000;3\u0001\u0000"+
-		"\u0000\u0000;<\u0001\u0000\u0000\u0000<=\u0001\u0000\u0000\u0000=>\u0005"+
-		"\u0006\u0000\u0000>\u0007\u0001\u0000\u0000\u0000?A\u0003\n\u0005\u0000"+
-		"@?\u0001\u0000\u0000\u0000AB\u0001\u0000\u0000\u0000B@\u0001\u0000\u0000"+
-		"\u0000BC\u0001\u0000\u0000\u0000C\t\u0001\u0000\u0000\u0000DH\u0003\f"+
-		"\u0006\u0000EH\u0003\u000e\u0007\u0000FH\u0003\u0010\b\u0000GD\u0001\u0000"+
-		"\u0000\u0000GE\u0001\u0000\u0000\u0000GF\u0001\u0000\u0000\u0000H\u000b"+
-		"\u0001\u0000\u0000\u0000IJ\u0005\u0007\u0000\u0000JK\u0005\u000e\u0000"+
-		"\u0000KL\u0005\b\u0000\u0000LM\u0005\u000f\u0000\u0000M\r\u0001\u0000"+
-		"\u0000\u0000NO\u0005\t\u0000\u0000OP\u0005\u000f\u0000\u0000PQ\u0005\b"+
-		"\u0000\u0000QR\u0005\u000e\u0000\u0000R\u000f\u0001\u0000\u0000\u0000"+
-		"ST\u0005\u000f\u0000\u0000TU\u0005\n\u0000\u0000UV\u0003\u0012\t\u0000"+
-		"V\u0011\u0001\u0000\u0000\u0000W[\u0003\u0014\n\u0000X[\u0003\u0000\u0000"+
-		"\u0000Y[\u0003\u0016\u000b\u0000ZW\u0001\u0000\u0000\u0000ZX\u0001\u0000"+
-		"\u0000\u0000ZY\u0001\u0000\u0000\u0000[\u0013\u0001\u0000\u0000\u0000"+
-		"\\a\u0005\u000f\u0000\u0000]^\u0005\u000b\u0000\u0000^`\u0005\u000f\u0000"+
-		"\u0000_]\u0001\u0000\u0000\u0000`c\u0001\u0000\u0000\u0000a_\u0001\u0000"+
-		"\u0000\u0000ab\u0001\u0000\u0000\u0000bf\u0001\u0000\u0000\u0000ca\u0001"+
-		"\u0000\u0000\u0000de\u0005\f\u0000\u0000eg\u0005\r\u0000\u0000fd\u0001"+
-		"\u0000\u0000\u0000fg\u0001\u0000\u0000\u0000g\u0015\u0001\u0000\u0000"+
-		"\u0000hi\u0005\u000f\u0000\u0000i\u0017\u0001\u0000\u0000\u0000\n\u001f"+
-		"\'*8;BGZaf";
+		"\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b\u0007\u000b\u0002"+
+		"\f\u0007\f\u0002\r\u0007\r\u0002\u000e\u0007\u000e\u0002\u000f\u0007\u000f"+
+		"\u0002\u0010\u0007\u0010\u0002\u0011\u0007\u0011\u0001\u0000\u0001\u0000"+
+		"\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0000\u0001\u0000\u0003\u0000"+
+		",\b\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0005\u0001"+
+		"2\b\u0001\n\u0001\f\u00015\t\u0001\u0003\u00017\b\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0003\u0001"+
+		"\u0003\u0001\u0003\u0001\u0003\u0005\u0003C\b\u0003\n\u0003\f\u0003F\t"+
+		"\u0003\u0003\u0003H\b\u0003\u0001\u0003\u0001\u0003\u0001\u0004\u0004"+
+		"\u0004M\b\u0004\u000b\u0004\f\u0004N\u0001\u0005\u0001\u0005\u0001\u0005"+
+		"\u0003\u0005T\b\u0005\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006"+
+		"\u0001\u0006\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007"+
+		"\u0001\b\u0001\b\u0001\b\u0001\b\u0001\t\u0001\t\u0001\t\u0001\t\u0003"+
+		"\th\b\t\u0001\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001\n\u0001"+
+		"\n\u0001\n\u0001\u000b\u0001\u000b\u0003\u000bu\b\u000b\u0001\u000b\u0001"+
+		"\u000b\u0001\u000b\u0003\u000bz\b\u000b\u0005\u000b|\b\u000b\n\u000b\f"+
+		"\u000b\u007f\t\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0003"+
+		"\u000b\u0085\b\u000b\u0001\u000b\u0003\u000b\u0088\b\u000b\u0003\u000b"+
+		"\u008a\b\u000b\u0001\f\u0001\f\u0001\f\u0003\f\u008f\b\f\u0001\f\u0003"+
+		"\f\u0092\b\f\u0001\f\u0001\f\u0001\f\u0001\f\u0003\f\u0098\b\f\u0003\f"+
+		"\u009a\b\f\u0001\r\u0001\r\u0001\r\u0001\r\u0005\r\u00a0\b\r\n\r\f\r\u00a3"+
+		"\t\r\u0001\r\u0001\r\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000e\u0001"+
+		"\u000f\u0001\u000f\u0001\u0010\u0001\u0010\u0001\u0011\u0001\u0011\u0001"+
+		"\u0011\u0000\u0000\u0012\u0000\u0002\u0004\u0006\b\n\f\u000e\u0010\u0012"+
+		"\u0014\u0016\u0018\u001a\u001c\u001e \"\u0000\u0002\u0001\u0000\u0014"+
+		"\u001b\u0003\u0000\u000b\f\u000f\u001a\u001e\u001e\u00b9\u0000+\u0001"+
+		"\u0000\u0000\u0000\u0002-\u0001\u0000\u0000\u0000\u0004:\u0001\u0000\u0000"+
+		"\u0000\u0006>\u0001\u0000\u0000\u0000\bL\u0001\u0000\u0000\u0000\nS\u0001"+
+		"\u0000\u0000\u0000\fU\u0001\u0000\u0000\u0000\u000eZ\u0001\u0000\u0000"+
+		"\u0000\u0010_\u0001\u0000\u0000\u0000\u0012g\u0001\u0000\u0000\u0000\u0014"+
+		"i\u0001\u0000\u0000\u0000\u0016r\u0001\u0000\u0000\u0000\u0018\u0099\u0001"+
+		"\u0000\u0000\u0000\u001a\u009b\u0001\u0000\u0000\u0000\u001c\u00a6\u0001"+
+		"\u0000\u0000\u0000\u001e\u00aa\u0001\u0000\u0000\u0000 \u00ac\u0001\u0000"+
+		"\u0000\u0000\"\u00ae\u0001\u0000\u0000\u0000$,\u0005\u001f\u0000\u0000"+
+		"%,\u0005 \u0000\u0000&,\u0003\u0002\u0001\u0000\',\u0003\u0006\u0003\u0000"+
+		"(,\u0005\"\u0000\u0000),\u0005#\u0000\u0000*,\u0003\u001e\u000f\u0000"+
+		"+$\u0001\u0000\u0000\u0000+%\u0001\u0000\u0000\u0000+&\u0001\u0000\u0000"+
+		"\u0000+\'\u0001\u0000\u0000\u0000+(\u0001\u0000\u0000\u0000+)\u0001\u0000"+
+		"\u0000\u0000+*\u0001\u0000\u0000\u0000,\u0001\u0001\u0000\u0000\u0000"+
+		"-6\u0005\u0001\u0000\u0000.3\u0003\u0004\u0002\u0000/0\u0005\u0002\u0000"+
+		"\u000002\u0003\u0004\u0002\u00001/\u0001\u0000\u0000\u000025\u0001\u0000"+
+		"\u0000\u000031\u0001\u0000\u0000\u000034\u0001\u0000\u0000\u000047\u0001"+
+		"\u0000\u0000\u000053\u0001\u0000\u0000\u00006.\u0001\u0000\u0000\u0000"+
+		"67\u0001\u0000\u0000\u000078\u0001\u0000\u0000\u000089\u0005\u0003\u0000"+
+		"\u00009\u0003\u0001\u0000\u0000\u0000:;\u0005\u001f\u0000\u0000;<\u0005"+
+		"\u0004\u0000\u0000<=\u0003\u0000\u0000\u0000=\u0005\u0001\u0000\u0000"+
+		"\u0000>G\u0005\u0005\u0000\u0000?D\u0003\u0000\u0000\u0000@A\u0005\u0002"+
+		"\u0000\u0000AC\u0003\u0000\u0000\u0000B@\u0001\u0000\u0000\u0000CF\u0001"+
+		"\u0000\u0000\u0000DB\u0001\u0000\u0000\u0000DE\u0001\u0000\u0000\u0000"+
+		"EH\u0001\u0000\u0000\u0000FD\u0001\u0000\u0000\u0000G?\u0001\u0000\u0000"+
+		"\u0000GH\u0001\u0000\u0000\u0000HI\u0001\u0000\u0000\u0000IJ\u0005\u0006"+
+		"\u0000\u0000J\u0007\u0001\u0000\u0000\u0000KM\u0003\n\u0005\u0000LK\u0001"+
+		"\u0000\u0000\u0000MN\u0001\u0000\u0000\u0000NL\u0001\u0000\u0000\u0000"+
+		"NO\u0001\u0000\u0000\u0000O\t\u0001\u0000\u0000\u0000PT\u0003\f\u0006"+
+		"\u0000QT\u0003\u000e\u0007\u0000RT\u0003\u0010\b\u0000SP\u0001\u0000\u0000"+
+		"\u0000SQ\u0001\u0000\u0000\u0000SR\u0001\u0000\u0000\u0000T\u000b\u0001"+
+		"\u0000\u0000\u0000UV\u0005\u0007\u0000\u0000VW\u0005\u001d\u0000\u0000"+
+		"WX\u0005\b\u0000\u0000XY\u0003\"\u0011\u0000Y\r\u0001\u0000\u0000\u0000"+
+		"Z[\u0005\t\u0000\u0000[\\\u0003\"\u0011\u0000\\]\u0005\b\u0000\u0000]"+
+		"^\u0005\u001d\u0000\u0000^\u000f\u0001\u0000\u0000\u0000_`\u0003\"\u0011"+
+		"\u0000`a\u0005\n\u0000\u0000ab\u0003\u0012\t\u0000b\u0011\u0001\u0000"+
+		"\u0000\u0000ch\u0003\u0014\n\u0000dh\u0003\u0016\u000b\u0000eh\u0003\u0000"+
+		"\u0000\u0000fh\u0003\u001e\u000f\u0000gc\u0001\u0000\u0000\u0000gd\u0001"+
+		"\u0000\u0000\u0000ge\u0001\u0000\u0000\u0000gf\u0001\u0000\u0000\u0000"+
+		"h\u0013\u0001\u0000\u0000\u0000ij\u0005\u000b\u0000\u0000jk\u0003\u0016"+
+		"\u000b\u0000kl\u0005\u0002\u0000\u0000lm\u0003\u0016\u000b\u0000mn\u0005"+
+		"\f\u0000\u0000no\u0003\"\u0011\u0000op\u0005\n\u0000\u0000pq\u0003\"\u0011"+
+		"\u0000q\u0015\u0001\u0000\u0000\u0000rt\u0003\"\u0011\u0000su\u0003\u001a"+
+		"\r\u0000ts\u0001\u0000\u0000\u0000tu\u0001\u0000\u0000\u0000u}\u0001\u0000"+
+		"\u0000\u0000vw\u0005\r\u0000\u0000wy\u0003\"\u0011\u0000xz\u0003\u001a"+
+		"\r\u0000yx\u0001\u0000\u0000\u0000yz\u0001\u0000\u0000\u0000z|\u0001\u0000"+
+		"\u0000\u0000{v\u0001\u0000\u0000\u0000|\u007f\u0001\u0000\u0000\u0000"+
+		"}{\u0001\u0000\u0000\u0000}~\u0001\u0000\u0000\u0000~\u0089\u0001\u0000"+
+		"\u0000\u0000\u007f}\u0001\u0000\u0000\u0000\u0080\u0087\u0005\u000e\u0000"+
+		"\u0000\u0081\u0084\u0003 \u0010\u0000\u0082\u0083\u0005\u000f\u0000\u0000"+
+		"\u0083\u0085\u0003\"\u0011\u0000\u0084\u0082\u0001\u0000\u0000\u0000\u0084"+
+		"\u0085\u0001\u0000\u0000\u0000\u0085\u0088\u0001\u0000\u0000\u0000\u0086"+
+		"\u0088\u0003\u0018\f\u0000\u0087\u0081\u0001\u0000\u0000\u0000\u0087\u0086"+
+		"\u0001\u0000\u0000\u0000\u0088\u008a\u0001\u0000\u0000\u0000\u0089\u0080"+
+		"\u0001\u0000\u0000\u0000\u0089\u008a\u0001\u0000\u0000\u0000\u008a\u0017"+
+		"\u0001\u0000\u0000\u0000\u008b\u008e\u0005\u0010\u0000\u0000\u008c\u008d"+
+		"\u0005\u000f\u0000\u0000\u008d\u008f\u0003\"\u0011\u0000\u008e\u008c\u0001"+
+		"\u0000\u0000\u0000\u008e\u008f\u0001\u0000\u0000\u0000\u008f\u0091\u0001"+
+		"\u0000\u0000\u0000\u0090\u0092\u0005\u0011\u0000\u0000\u0091\u0090\u0001"+
+		"\u0000\u0000\u0000\u0091\u0092\u0001\u0000\u0000\u0000\u0092\u009a\u0001"+
+		"\u0000\u0000\u0000\u0093\u0094\u0005\u0012\u0000\u0000\u0094\u0097\u0005"+
+		" \u0000\u0000\u0095\u0096\u0005\u000f\u0000\u0000\u0096\u0098\u0003\""+
+		"\u0011\u0000\u0097\u0095\u0001\u0000\u0000\u0000\u0097\u0098\u0001\u0000"+
+		"\u0000\u0000\u0098\u009a\u0001\u0000\u0000\u0000\u0099\u008b\u0001\u0000"+
+		"\u0000\u0000\u0099\u0093\u0001\u0000\u0000\u0000\u009a\u0019\u0001\u0000"+
+		"\u0000\u0000\u009b\u009c\u0005\u0005\u0000\u0000\u009c\u00a1\u0003\u001c"+
+		"\u000e\u0000\u009d\u009e\u0005\u0013\u0000\u0000\u009e\u00a0\u0003\u001c"+
+		"\u000e\u0000\u009f\u009d\u0001\u0000\u0000\u0000\u00a0\u00a3\u0001\u0000"+
+		"\u0000\u0000\u00a1\u009f\u0001\u0000\u0000\u0000\u00a1\u00a2\u0001\u0000"+
+		"\u0000\u0000\u00a2\u00a4\u0001\u0000\u0000\u0000\u00a3\u00a1\u0001\u0000"+
+		"\u0000\u0000\u00a4\u00a5\u0005\u0006\u0000\u0000\u00a5\u001b\u0001\u0000"+
+		"\u0000\u0000\u00a6\u00a7\u0003\"\u0011\u0000\u00a7\u00a8\u0005\u001c\u0000"+
+		"\u0000\u00a8\u00a9\u0003\u0000\u0000\u0000\u00a9\u001d\u0001\u0000\u0000"+
+		"\u0000\u00aa\u00ab\u0003\"\u0011\u0000\u00ab\u001f\u0001\u0000\u0000\u0000"+
+		"\u00ac\u00ad\u0007\u0000\u0000\u0000\u00ad!\u0001\u0000\u0000\u0000\u00ae"+
+		"\u00af\u0007\u0001\u0000\u0000\u00af#\u0001\u0000\u0000\u0000\u0013+3"+
+		"6DGNSgty}\u0084\u0087\u0089\u008e\u0091\u0097\u0099\u00a1";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
@@ -70,16 +70,52 @@ public interface JSONVisitor<T> extends ParseTreeVisitor<T> {
 	 * @return the visitor result
 	 */
 	T visitExpression(JSONParser.ExpressionContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link JSONParser#join}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitJoin(JSONParser.JoinContext ctx);
 	/**
 	 * Visit a parse tree produced by {@link JSONParser#expressionAccess}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
 	T visitExpressionAccess(JSONParser.ExpressionAccessContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link JSONParser#order}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitOrder(JSONParser.OrderContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link JSONParser#filter}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitFilter(JSONParser.FilterContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link JSONParser#comparison}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitComparison(JSONParser.ComparisonContext ctx);
 	/**
 	 * Visit a parse tree produced by {@link JSONParser#variable}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
 	T visitVariable(JSONParser.VariableContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link JSONParser#operator}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitOperator(JSONParser.OperatorContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link JSONParser#identifier}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitIdentifier(JSONParser.IdentifierContext ctx);
 }
\ No newline at end of file
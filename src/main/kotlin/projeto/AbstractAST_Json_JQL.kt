@@ -1,5 +1,6 @@
 package projeto
 
+import org.antlr.v4.runtime.tree.TerminalNode
 import projeto.JSONParser.*
 
 fun ValueContext.toAST() : JValue {
@@ -9,7 +10,8 @@ fun ValueContext.toAST() : JValue {
             JString(string.substring(1, string.length - 1))
         }
         NUMBER() != null -> {
-            JNumber(NUMBER().text.toDouble())
+            val text = NUMBER().text
+            text.toLongOrNull()?.let { JLong(it) } ?: JDouble(text.toDouble())
         }
         BOOLEAN() != null -> {
             JBoolean(BOOLEAN().text.toBoolean())
@@ -24,7 +26,7 @@ fun ValueContext.toAST() : JValue {
         }
         variable() != null -> {
             val variable = variable()
-            JVariable(variable.ID().text)
+            JVariable(variable.identifier().text)
         }
         else -> {
             JNull
@@ -36,16 +38,16 @@ fun InstructionContext.toAst() : JInstruction{
     if (loadStatement() == null) {
         if(saveStatement() != null){
             val save = saveStatement()
-            return JSave(save.PARAMETER().text, save.ID().text)
+            return JSave(save.PARAMETER().text, save.identifier().text)
         } else if(assign() != null){
             val assign = assign()
-            return JAssign(assign.ID().text, assign.expression().toAst())
+            return JAssign(assign.identifier().text, assign.expression().toAst())
         } else{
             TODO()
         }
     } else {
         val load = loadStatement()
-        return JLoad(load.PARAMETER().text, load.ID().text)
+        return JLoad(load.PARAMETER().text, load.identifier().text)
     }
 }
 
@@ -55,23 +57,16 @@ fun ExpressionContext.toAst(): JExpression {
             val value = value()
             return JValueExpression(value.toAST())
         }
+        join() != null -> {
+            val join = join()
+            return JJoin(join.expressionAccess(0).toExpression(), join.expressionAccess(1).toExpression(), join.identifier(0).text, join.identifier(1).text)
+        }
         expressionAccess() != null -> {
-            val expressionAccess = expressionAccess().text.split("|")
-            return when (expressionAccess.size) {
-                2 -> {
-                    val expressionB = expressionAccess[0].split(".")
-                    JOperationsAccess(JPropertyAccess(expressionB[0], expressionB.drop(1)), expressionAccess[1])
-                }
-
-                else -> {
-                    val expressionB = expressionAccess().text.split(".")
-                    JPropertyAccess(expressionB[0], expressionB.drop(1))
-                }
-            }
+            return expressionAccess().toExpression()
         }
         variable() != null -> {
             val variable = variable()
-            return JVariable(variable.ID().text)
+            return JVariable(variable.identifier().text)
         }
         else -> {
             TODO()
@@ -79,6 +74,48 @@ fun ExpressionContext.toAst(): JExpression {
     }
 }
 
+fun ExpressionAccessContext.toExpression(): JExpression {
+    val path = toAst()
+    order()?.let { return it.toAst(path) }
+    val operator = operator() ?: return path
+    // Com `BY chave` o último ID é a chave do agrupamento, não um nível do caminho.
+    val groupBy = if (identifier().size > path.property.size + 1) identifier().last().text else null
+    return JOperationsAccess(path, operator.text, groupBy)
+}
+
+// Os filtros ficam na posição do número de nomes lidos até eles (0 para um filtro logo a seguir à base).
+fun ExpressionAccessContext.toAst(): JPropertyAccess {
+    val names = mutableListOf<String>()
+    val filters = mutableMapOf<Int, JPredicate>()
+    for (child in children) {
+        when {
+            child is FilterContext -> filters[names.size - 1] = child.toAst()
+            child is IdentifierContext -> names.add(child.text)
+            child is TerminalNode && child.text == "|" -> break
+        }
+    }
+    return JPropertyAccess(names[0], names.drop(1), filters)
+}
+
+fun OrderContext.toAst(value: JExpression): JSortAccess {
+    val by = identifier()?.text
+    val count = NUMBER() ?: return JSortAccess(value, by, descending = children.any { it is TerminalNode && it.text == "DESC" })
+    // Uma contagem que não é um inteiro positivo fica a 0 e é reportada por JScript.validate.
+    return JSortAccess(value, by, count.text.toIntOrNull()?.coerceAtLeast(0) ?: 0)
+}
+
+fun FilterContext.toAst(): JPredicate = JPredicate(comparison().map { comparison ->
+    // true, false e null chegam como identificadores, porque a regra ID vem antes de BOOLEAN e NULLVALUE.
+    val value = when (val literal = comparison.value().toAST()) {
+        JVariable("true") -> JBoolean(true)
+        JVariable("false") -> JBoolean(false)
+        JVariable("null") -> JNull
+        // Uma variável fica na comparação e é reportada por JScript.validate.
+        else -> literal
+    }
+    JComparison(comparison.identifier().text, comparison.COMPARATOR().text, value)
+})
+
 fun ScriptContext.toAst() : JScript{
     return JScript(instruction().map { it.toAst() })
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package projeto
+
+import java.io.File
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Modo batch: um script já analisado e validado, executado para cada conjunto de argumentos `$n` de um manifesto
+ * num pool de [threads] threads, em vez de um processo (e um arranque da JVM e do ANTLR) por ficheiro. Cada job tem
+ * o seu próprio estado, por isso um job que falha, com um erro do script, uma exceção ou um [Error], é contado e
+ * reportado sem afetar os outros.
+ *
+ * @property inputs posições (a partir de 0) dos argumentos lidos com `load`, contados como ficheiros de entrada.
+ * @property job executa o script com os argumentos de um job e diz se terminou sem erros.
+ */
+class JBatch(private val threads: Int, private val inputs: List<Int>, private val job: (List<String>) -> Boolean) {
+
+    data class Summary(val jobs: Int, val failures: Int, val files: Long, val bytes: Long, val nanos: Long) {
+        override fun toString(): String {
+            val seconds = nanos / 1e9
+            return "%d jobs, %d failed, %d files, %d bytes in %.2f s: %.1f files/s, %.1f MB/s".format(
+                jobs, failures, files, bytes, seconds, files / seconds, bytes / 1e6 / seconds
+            )
+        }
+    }
+
+    fun run(jobs: List<List<String>>): Summary {
+        val failures = AtomicInteger()
+        val files = AtomicLong()
+        val bytes = AtomicLong()
+        val executor = Executors.newFixedThreadPool(threads)
+        val start = System.nanoTime()
+        try {
+            val futures = jobs.mapIndexed { index, arguments ->
+                executor.submit {
+                    for (input in inputs) {
+                        val file = arguments.getOrNull(input)?.let { File(it) }
+                        if (file != null && file.isFile) {
+                            files.incrementAndGet()
+                            bytes.addAndGet(file.length())
+                        }
+                    }
+                    val failure = try {
+                        if (job(arguments)) null else ""
+                    } catch (e: Throwable) {
+                        // Também um Error, como o StackOverflowError de um ficheiro muito aninhado, falha só este job.
+                        ": ${e.message ?: e.javaClass.simpleName}"
+                    }
+                    if (failure != null) {
+                        failures.incrementAndGet()
+                        println("Job ${index + 1} (${arguments.joinToString(" ")}) failed$failure")
+                    }
+                }
+            }
+            futures.forEach { it.get() }
+        } finally {
+            executor.shutdown()
+        }
+        return Summary(jobs.size, failures.get(), files.get(), bytes.get(), System.nanoTime() - start)
+    }
+
+    companion object {
+        /** Os argumentos de cada job, um job por linha separados por espaços; linhas vazias ou com `#` são ignoradas. */
+        fun manifest(file: File): List<List<String>> = file.readLines()
+            .map { it.trim() }
+            .filter { it.isNotEmpty() && !it.startsWith("#") }
+            .map { it.split(Regex("\\s+")) }
+
+        /**
+         * Execução de [script] com os argumentos de um job, que diz se terminou sem erros: pelo [JIntepreter], com
+         * uma cópia do script para cada job (é o script que guarda os erros), ou, com [backend], pelo mesmo
+         * [JCompiledScript] em todos os jobs. Com `parallelism > 1` os jobs devem partilhar o [JOptions.pool].
+         */
+        fun job(script: JScript, options: JOptions, backend: JBackend? = null): (List<String>) -> Boolean {
+            if (backend == null) {
+                return { arguments ->
+                    val copy = script.copy()
+                    JIntepreter(copy, options).run(arguments)
+                    copy.errorsList.isEmpty()
+                }
+            }
+            val compiled = JCompiler.compile(script, options, backend)
+            return { arguments -> compiled.run(arguments).errors.isEmpty() }
+        }
+
+        /** Posições dos argumentos `$n` lidos pelos `load` de [script]. */
+        fun inputs(script: JScript): List<Int> = script.instructions
+            .mapNotNull { (it as? JLoad)?.ficheiro?.removePrefix("$")?.toIntOrNull()?.minus(1) }
+            .distinct()
+    }
+}
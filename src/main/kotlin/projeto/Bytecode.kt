@@ -0,0 +1,156 @@
+package projeto
+
+import javassist.ClassPool
+import javassist.CtNewConstructor
+import javassist.CtNewMethod
+import javassist.LoaderClassPath
+import java.lang.invoke.MethodHandles
+import java.util.concurrent.atomic.AtomicInteger
+
+// Implementada pelas classes geradas; `constants` guarda os valores que não cabem como literais no código.
+internal interface JGeneratedScript {
+    fun execute(frame: JFrame, constants: Array<Any?>)
+}
+
+/**
+ * Backend [JBackend.BYTECODE]: escreve o script como código Java, com uma chamada estática direta aos
+ * passos de [JFrame] por cada acesso, compila-o com Javassist e define a classe como hidden class
+ * (`Lookup.defineHiddenClass`), que pode ser descarregada quando o script deixar de ser usado.
+ */
+internal class JBytecodeCompilation(script: JScript, options: JOptions) : JCompilation(script, options) {
+    private val constants = mutableListOf<Any?>()
+
+    override fun body(): JBody {
+        val chunks = script.instructions.withIndex().chunked(INSTRUCTIONS_PER_METHOD)
+        val methods = chunks.mapIndexed { c, chunk ->
+            val source = StringBuilder("private void chunk$c(projeto.JFrame f, Object[] k) {\n    int line = 0;\n    try {\n")
+            for ((index, instruction) in chunk) {
+                source.append("        line = ${script.lines[index]};\n        ").append(instruction(instruction, index)).append(";\n")
+            }
+            source.append("    } catch (java.lang.Exception e) {\n")
+            source.append("        throw new projeto.JExecutionException(\"\" + e.getMessage(), line);\n    }\n}")
+            source.toString()
+        }
+        val execute = chunks.indices.joinToString("", "public void execute(projeto.JFrame f, Object[] k) {\n", "}") { "    chunk$it(f, k);\n" }
+        val generated = define(methods + execute)
+        val values = constants.toTypedArray()
+        return JBody { frame -> generated.execute(frame, values) }
+    }
+
+    private fun instruction(instruction: JInstruction, index: Int): String {
+        return when (instruction) {
+            is JLoad -> {
+                val projection = constant(projection(instruction), "projeto.JProjection")
+                val streamed = streamedTargets(index)
+                if (streamed != null) {
+                    val (uses, targets) = streamed
+                    "projeto.JFrame.stream(f, ${constant(instruction, "projeto.JLoad")}, ${constant(uses, "java.util.List")}, " +
+                        "${constant(targets, "int[]")}, $projection)"
+                } else {
+                    "projeto.JFrame.load(f, ${slot(instruction.id)}, ${constant(instruction, "projeto.JLoad")}, $projection, ${options.lazyLoad})"
+                }
+            }
+            is JSave -> "projeto.JFrame.save(f, ${slot(instruction.id)}, ${constant(instruction, "projeto.JSave")})"
+            is JAssign -> {
+                val value = expression(instruction.expression, expressionLine(index))
+                "projeto.JFrame.assign(f, ${slot(instruction.varId)}, $value)"
+            }
+        }
+    }
+
+    private fun expression(expression: JExpression, line: Int): String {
+        // Uma expressão só fica associada a um slot de streaming depois de compilado o seu load,
+        // por isso quando é executada o resultado já existe.
+        streamedSlots[expression]?.let { return "projeto.JFrame.streamed(f, $it, ${text(expression)}, $line)" }
+        return when (expression) {
+            is JVariable -> "projeto.JFrame.variable(f, ${slot(expression.name)}, ${string(expression.name)}, $line)"
+            is JValueExpression -> value(expression.value, line)
+            is JPropertyAccess -> {
+                val base = expression(JVariable(expression.base), line)
+                val property = expression.property
+                when {
+                    expression.usesPlan -> {
+                        val plan = constant(JPathPlan(expression), "projeto.JPathPlan")
+                        "projeto.JFrame.deepPath(f, $base, $plan, ${text(expression)}, $line)"
+                    }
+                    property.isEmpty() -> base
+                    property.size > 1 -> {
+                        val siblings = constant(pathFields[expression.base to property[0]].orEmpty(), "java.util.List")
+                        "projeto.JFrame.path(f, $base, ${string(property[0])}, ${string(property[1])}, $siblings, ${text(expression)}, $line)"
+                    }
+                    else -> "projeto.JFrame.property(f, $base, ${string(property[0])}, ${text(expression)}, $line)"
+                }
+            }
+            is JOperationsAccess -> {
+                groupedPath(expression)?.let { path ->
+                    val base = expression(JVariable(path.base), line)
+                    val plan = constant(JPathPlan(path), "projeto.JPathPlan")
+                    return "projeto.JFrame.group(f, $base, $plan, ${string(expression.operator)}, ${string(expression.groupBy!!)}, " +
+                        "${text(expression)}, $line)"
+                }
+                fusablePath(expression)?.let { path ->
+                    val base = expression(JVariable(path.base), line)
+                    val siblings = constant(pathFields[path.base to path.property[0]].orEmpty(), "java.util.List")
+                    return "projeto.JFrame.aggregatePath(f, $base, ${string(path.property[0])}, ${string(path.property[1])}, " +
+                        "${string(expression.operator)}, $siblings, ${text(path)}, $line)"
+                }
+                deepPath(expression)?.let { path ->
+                    val base = expression(JVariable(path.base), line)
+                    val plan = constant(JPathPlan(path), "projeto.JPathPlan")
+                    return "projeto.JFrame.aggregateDeepPath(f, $base, $plan, ${string(expression.operator)}, ${text(path)}, $line)"
+                }
+                val value = expression(expression.value, line)
+                "projeto.JFrame.aggregate(f, $value, ${string(expression.operator)}, ${text(expression)}, $line)"
+            }
+            is JSortAccess -> {
+                val value = expression(expression.value, line)
+                "projeto.JFrame.sort(f, $value, ${constant(expression, "projeto.JSortAccess")}, ${text(expression)}, $line)"
+            }
+            is JJoin -> {
+                val left = expression(expression.left, line)
+                val right = expression(expression.right, line)
+                "projeto.JFrame.join(f, $left, $right, ${constant(expression, "projeto.JJoin")}, ${text(expression)}, $line)"
+            }
+            // O array é construído pelo mesmo JCode do backend de closures, guardado como constante.
+            is JArray -> "${constant(literal(expression, line), "projeto.JCode")}.evaluate(f)"
+        }
+    }
+
+    private fun value(value: JValue, line: Int): String {
+        if (value !is JObject) return constant(value, "projeto.JValue")
+        val names = value.fields.map { it.name }.toTypedArray()
+        val references = value.fields.map { it.value.toString() }.toTypedArray()
+        val fieldSlots = references.map { slot(it) }.toIntArray()
+        return "projeto.JFrame.record(f, ${constant(names, "String[]")}, ${constant(fieldSlots, "int[]")}, " +
+            "${constant(references, "String[]")}, $line)"
+    }
+
+    private fun text(expression: JExpression): String = string(expression.toString())
+
+    // As strings também vão para as constantes para não ter de as escapar no código gerado.
+    private fun string(value: String): String = constant(value, "String")
+
+    private fun constant(value: Any?, type: String): String {
+        constants.add(value)
+        return "(($type) k[${constants.size - 1}])"
+    }
+
+    private fun define(methods: List<String>): JGeneratedScript {
+        val pool = ClassPool(true)
+        pool.appendClassPath(LoaderClassPath(JGeneratedScript::class.java.classLoader))
+        val type = pool.makeClass("projeto.JGeneratedScript$${counter.incrementAndGet()}")
+        type.addInterface(pool.get(JGeneratedScript::class.java.name))
+        type.addConstructor(CtNewConstructor.defaultConstructor(type))
+        methods.forEach { type.addMethod(CtNewMethod.make(it, type)) }
+        val bytes = type.toBytecode()
+        type.detach()
+        val generated = MethodHandles.lookup().defineHiddenClass(bytes, true).lookupClass()
+        return generated.getDeclaredConstructor().newInstance() as JGeneratedScript
+    }
+
+    companion object {
+        // Mantém cada método gerado bem abaixo do limite de 64 KB de bytecode da JVM.
+        private const val INSTRUCTIONS_PER_METHOD = 200
+        private val counter = AtomicInteger()
+    }
+}
@@ -0,0 +1,114 @@
+package projeto
+
+import java.util.BitSet
+
+/**
+ * Coluna tipada de um array de objetos homogéneos, vista como `List<JValue>` para poder ser usada
+ * diretamente como elementos de um [JArray]. As posições em [nulls] contêm `null` no JSON.
+ */
+sealed class JColumn(protected val nulls: BitSet) : AbstractList<JValue>(), RandomAccess {
+    fun isNull(index: Int): Boolean = nulls[index]
+}
+
+sealed class JNumericColumn(nulls: BitSet) : JColumn(nulls) {
+    /** Acumula as posições [from] (inclusive) a [to] (exclusive). */
+    abstract fun feed(accumulator: JAccumulator, from: Int = 0, to: Int = size)
+}
+
+class JLongColumn(val values: LongArray, nulls: BitSet) : JNumericColumn(nulls) {
+    override val size: Int get() = values.size
+
+    override fun get(index: Int): JValue = if (nulls[index]) JNull else JLong(values[index])
+
+    override fun feed(accumulator: JAccumulator, from: Int, to: Int) {
+        for (i in from until to) {
+            if (nulls[i]) accumulator.addNull() else accumulator.addLong(values[i])
+        }
+    }
+}
+
+// Inteiros misturados com decimais: as posições em [integers] voltam a ser [JLong] quando lidas.
+class JDoubleColumn(val values: DoubleArray, nulls: BitSet, private val integers: BitSet = BitSet()) : JNumericColumn(nulls) {
+    override val size: Int get() = values.size
+
+    override fun get(index: Int): JValue = when {
+        nulls[index] -> JNull
+        integers[index] -> JLong(values[index].toLong())
+        else -> JDouble(values[index])
+    }
+
+    override fun feed(accumulator: JAccumulator, from: Int, to: Int) {
+        for (i in from until to) {
+            when {
+                nulls[i] -> accumulator.addNull()
+                integers[i] -> accumulator.addLong(values[i].toLong())
+                else -> accumulator.addDouble(values[i])
+            }
+        }
+    }
+}
+
+class JStringColumn(val values: Array<String?>, nulls: BitSet) : JColumn(nulls) {
+    override val size: Int get() = values.size
+
+    override fun get(index: Int): JValue = values[index]?.let { JString(it) } ?: JNull
+}
+
+// Colunas com tipos misturados, booleanos ou contentores guardam os próprios nós.
+class JValueColumn(val values: Array<JValue>, nulls: BitSet) : JColumn(nulls) {
+    override val size: Int get() = values.size
+
+    override fun get(index: Int): JValue = values[index]
+}
+
+/**
+ * Elementos de um array cujos objetos têm todos as mesmas chaves pela mesma ordem, guardados por coluna.
+ * Cada linha é reconstruída como [JObject] quando pedida; [column] devolve a coluna sem copiar.
+ */
+class JColumnarRows(val keys: List<String>, private val columns: List<JColumn>, override val size: Int) : AbstractList<JValue>(), RandomAccess {
+
+    override fun get(index: Int): JValue = JObject(keys.mapIndexed { k, key -> JField(key, columns[k][index]) })
+
+    fun column(name: String): JColumn? {
+        val k = keys.indexOf(name)
+        return if (k < 0) null else columns[k]
+    }
+
+    companion object {
+        private const val MIN_ROWS = 2
+        // Maior inteiro que um Double representa sem perda (2^53).
+        private const val MAX_EXACT = 1L shl 53
+
+        fun detect(elements: List<JValue>): List<JValue> {
+            if (elements.size < MIN_ROWS) return elements
+            val first = elements[0] as? JObject ?: return elements
+            val keys = first.fields.map { it.name }
+            if (keys.isEmpty() || keys.toSet().size != keys.size) return elements
+            for (element in elements) {
+                if (element !is JObject || element.fields.size != keys.size) return elements
+                for (k in keys.indices) {
+                    if (element.fields[k].name != keys[k]) return elements
+                }
+            }
+            val columns = keys.indices.map { k -> column(elements.map { (it as JObject).fields[k].value }) }
+            return JColumnarRows(keys, columns, elements.size)
+        }
+
+        private fun column(values: List<JValue>): JColumn {
+            val nulls = BitSet(values.size)
+            values.forEachIndexed { i, value -> if (value == JNull) nulls.set(i) }
+            return when {
+                values.all { it is JLong || it == JNull } ->
+                    JLongColumn(LongArray(values.size) { (values[it] as? JLong)?.value ?: 0L }, nulls)
+                values.all { it is JDouble || it == JNull || it is JLong && it.value in -MAX_EXACT..MAX_EXACT } -> {
+                    val integers = BitSet(values.size)
+                    values.forEachIndexed { i, value -> if (value is JLong) integers.set(i) }
+                    JDoubleColumn(DoubleArray(values.size) { (values[it] as? JNumber)?.toDouble() ?: 0.0 }, nulls, integers)
+                }
+                values.all { it is JString || it == JNull } ->
+                    JStringColumn(Array(values.size) { (values[it] as? JString)?.value }, nulls)
+                else -> JValueColumn(values.toTypedArray(), nulls)
+            }
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package projeto
+
+import java.util.concurrent.ForkJoinPool
+
+/**
+ * Estado de uma execução de um [JCompiledScript]: o valor de cada variável fica na posição (slot) que
+ * o compilador lhe atribuiu, sem procuras por nome durante a execução.
+ */
+class JFrame internal constructor(
+    private val slots: Map<String, Int>,
+    streamed: Int,
+    arguments: List<String>,
+    diagnostics: List<JError>,
+    internal val pool: ForkJoinPool? = null
+) {
+    internal val values = arrayOfNulls<JValue>(slots.size)
+    internal val streamed = arrayOfNulls<Result<JValue>>(streamed)
+    internal val arguments = arguments.withIndex().associate { "$${it.index + 1}" to it.value }
+    val errors = diagnostics.toMutableList()
+    internal val paths = JPathCache(pool)
+
+    operator fun get(name: String): JValue? = slots[name]?.let { values[it] }
+
+    val memory: Map<String, JValue>
+        get() = slots.entries.mapNotNull { (name, slot) -> values[slot]?.let { name to it } }.toMap()
+
+    internal inline fun recording(text: String, line: Int, operation: () -> JValue): JValue {
+        return try {
+            operation()
+        } catch (e: IllegalArgumentException) {
+            errors.add(JVarError(text, line))
+            throw e
+        }
+    }
+
+    /**
+     * Passos elementares dos scripts compilados. São estáticos para que o código gerado pelo backend
+     * [JBackend.BYTECODE] os chame diretamente; as closures usam exatamente os mesmos.
+     */
+    companion object {
+        @JvmStatic
+        fun variable(frame: JFrame, slot: Int, name: String, line: Int): JValue {
+            return frame.values[slot] ?: throw IllegalArgumentException("No value found for variable: $name").also {
+                frame.errors.add(JVarError(name, line))
+            }
+        }
+
+        @JvmStatic
+        fun assign(frame: JFrame, slot: Int, value: JValue) {
+            frame.values[slot] = value
+        }
+
+        @JvmStatic
+        fun record(frame: JFrame, names: Array<String>, slots: IntArray, references: Array<String>, line: Int): JValue {
+            return JObject(names.indices.map { k ->
+                val fieldValue = frame.values[slots[k]] ?: throw IllegalArgumentException("No value found for variable: ${references[k]}").also {
+                    frame.errors.add(JVarError(references[k], line))
+                }
+                JField(names[k], fieldValue)
+            })
+        }
+
+        @JvmStatic
+        fun property(frame: JFrame, base: JValue, name: String, text: String, line: Int): JValue =
+            frame.recording(text, line) { JOperations.property(base, name) }
+
+        @JvmStatic
+        fun path(frame: JFrame, base: JValue, first: String, second: String, siblings: List<String>, text: String, line: Int): JValue =
+            frame.recording(text, line) { frame.paths.path(base, first, second, siblings) }
+
+        @JvmStatic
+        fun deepPath(frame: JFrame, base: JValue, plan: JPathPlan, text: String, line: Int): JValue =
+            frame.recording(text, line) { plan.evaluate(base) }
+
+        @JvmStatic
+        fun aggregateDeepPath(frame: JFrame, base: JValue, plan: JPathPlan, operator: String, text: String, line: Int): JValue =
+            frame.recording(text, line) { plan.aggregate(operator, base, frame.pool) }
+
+        @JvmStatic
+        fun group(frame: JFrame, base: JValue, plan: JPathPlan, operator: String, key: String, text: String, line: Int): JValue =
+            frame.recording(text, line) { plan.group(operator, base, key) }
+
+        @JvmStatic
+        fun aggregatePath(
+            frame: JFrame, base: JValue, first: String, second: String, operator: String, siblings: List<String>, text: String, line: Int
+        ): JValue = frame.recording(text, line) { frame.paths.aggregate(base, first, second, operator, siblings) }
+
+        @JvmStatic
+        fun aggregate(frame: JFrame, value: JValue, operator: String, text: String, line: Int): JValue =
+            frame.recording(text, line) { JOperations.aggregate(operator, value, frame.pool) }
+
+        @JvmStatic
+        fun sort(frame: JFrame, value: JValue, sort: JSortAccess, text: String, line: Int): JValue =
+            frame.recording(text, line) { JOperations.sort(value, sort) }
+
+        @JvmStatic
+        fun join(frame: JFrame, left: JValue, right: JValue, join: JJoin, text: String, line: Int): JValue =
+            frame.recording(text, line) { JOperations.join(left, right, join) }
+
+        @JvmStatic
+        fun streamed(frame: JFrame, slot: Int, text: String, line: Int): JValue? {
+            val result = frame.streamed[slot] ?: return null
+            return frame.recording(text, line) { result.getOrThrow() }
+        }
+
+        @JvmStatic
+        fun load(frame: JFrame, slot: Int, instruction: JLoad, projection: JProjection, lazy: Boolean) {
+            frame.values[slot] = instruction.run(frame.arguments[instruction.ficheiro] ?: instruction.ficheiro, projection, lazy)
+        }
+
+        @JvmStatic
+        fun stream(frame: JFrame, instruction: JLoad, uses: List<JExpression>, targets: IntArray, projection: JProjection) {
+            val results = instruction.stream(frame.arguments[instruction.ficheiro] ?: instruction.ficheiro, uses, projection)
+            uses.forEachIndexed { k, use -> frame.streamed[targets[k]] = results.getValue(use) }
+        }
+
+        @JvmStatic
+        fun save(frame: JFrame, slot: Int, instruction: JSave) {
+            val objeto = frame.values[slot] ?: throw IllegalArgumentException("No value found for id: ${instruction.id}")
+            instruction.run(objeto, frame.arguments[instruction.ficheiro].toString())
+        }
+    }
+}
+
+internal fun interface JCode {
+    fun evaluate(frame: JFrame): JValue
+}
+
+internal fun interface JStep {
+    fun execute(frame: JFrame)
+}
+
+// Corpo de um script compilado; uma falha sai como JExecutionException com a linha da instrução.
+internal fun interface JBody {
+    fun execute(frame: JFrame)
+}
+
+enum class JBackend { CLOSURES, BYTECODE }
+
+/**
+ * Script compilado pelo [JCompiler]. Não guarda estado entre execuções: cada [run] cria um [JFrame] novo,
+ * por isso o mesmo script pode ser executado muitas vezes com argumentos `$n` diferentes.
+ */
+class JCompiledScript internal constructor(
+    val script: JScript,
+    val diagnostics: List<JError>,
+    private val slots: Map<String, Int>,
+    private val streamedCount: Int,
+    private val body: JBody,
+    private val parallelism: Int = 1,
+    private val pool: ForkJoinPool? = null
+) {
+
+    fun run(arguments: List<String>): JFrame {
+        // O pool só é usado pelos agregados sobre arrays grandes; as instruções correm sempre pela ordem do script.
+        // Sem o pool partilhado de JOptions, cada execução cria o seu e fecha-o no fim.
+        val owned = if (parallelism > 1 && pool == null) ForkJoinPool(parallelism) else null
+        val frame = JFrame(slots, streamedCount, arguments, diagnostics, pool.takeIf { parallelism > 1 } ?: owned)
+        try {
+            body.execute(frame)
+        } catch (e: JExecutionException) {
+            println("Error at line ${e.line}: ${e.message}")
+            val index = script.lines.binarySearch(e.line)
+            frame.errors.add(JVarError(script.instructions[index].toString(), e.line))
+        } finally {
+            owned?.shutdown()
+        }
+        return frame
+    }
+}
+
+/**
+ * Transforma um [JScript] num [JCompiledScript] com as variáveis já resolvidas para slots e as análises
+ * (streaming, projeções) feitas uma só vez. Com [JBackend.CLOSURES] o resultado é uma árvore de closures;
+ * com [JBackend.BYTECODE] é uma classe gerada (ver [JBytecodeCompilation]). Ambos equivalem ao [JIntepreter].
+ */
+object JCompiler {
+
+    fun compile(script: JScript, options: JOptions = JOptions(), backend: JBackend = JBackend.CLOSURES): JCompiledScript {
+        val compilation = when (backend) {
+            JBackend.CLOSURES -> JClosureCompilation(script, options)
+            JBackend.BYTECODE -> JBytecodeCompilation(script, options)
+        }
+        return compilation.compile()
+    }
+}
+
+/** Atribuição de slots e análises partilhadas pelos dois backends. */
+internal abstract class JCompilation(val script: JScript, val options: JOptions) {
+    val slots = LinkedHashMap<String, Int>()
+    val streamedSlots = HashMap<JExpression, Int>()
+    val streamableLoads = JScriptAnalysis.streamableLoads(script)
+    val projections = JScriptAnalysis.projections(script, options.fullMemory)
+    val pathFields = JScriptAnalysis.pathFields(script)
+
+    fun compile(): JCompiledScript {
+        val body = body()
+        return JCompiledScript(script, script.validate(), slots, streamedSlots.size, body, options.parallelism, options.pool)
+    }
+
+    protected abstract fun body(): JBody
+
+    fun slot(name: String): Int = slots.getOrPut(name) { slots.size }
+
+    fun projection(load: JLoad): JProjection = projections[load.id] ?: JProjection.EMPTY
+
+    // Caminho `base.a.b` de um agregado que pode ser fundido com os outros sobre `base.a`.
+    fun fusablePath(expression: JOperationsAccess): JPropertyAccess? {
+        val path = expression.value as? JPropertyAccess ?: return null
+        return path.takeIf {
+            it.property.size == 2 && it.filters.isEmpty() && expression.groupBy == null && expression.operator in JOperations.OPERATORS
+        }
+    }
+
+    // Caminho de um agregado `path | OP BY chave`.
+    fun groupedPath(expression: JOperationsAccess): JPropertyAccess? {
+        if (expression.groupBy == null) return null
+        return expression.value as? JPropertyAccess ?: throw IllegalArgumentException("BY requires a path: $expression")
+    }
+
+    // Caminho de um agregado avaliado por um JPathPlan (mais de dois níveis ou com filtros), acumulado diretamente.
+    fun deepPath(expression: JOperationsAccess): JPropertyAccess? =
+        (expression.value as? JPropertyAccess)?.takeIf {
+            it.usesPlan && expression.groupBy == null && expression.operator in JOperations.ACCUMULATED_OPERATORS
+        }
+
+    /**
+     * Objeto ou array literal: cada campo de um objeto é lido da variável que o nomeia, e cada elemento de um
+     * array é lido da sua variável, construído como um objeto ou array literal, ou usado tal como está.
+     */
+    fun literal(value: JValue, line: Int): JCode {
+        return when (value) {
+            is JObject -> {
+                val names = value.fields.map { it.name }.toTypedArray()
+                val references = value.fields.map { it.value.toString() }.toTypedArray()
+                val fieldSlots = references.map { slot(it) }.toIntArray()
+                JCode { frame -> JFrame.record(frame, names, fieldSlots, references, line) }
+            }
+            is JArray -> {
+                val elements = value.elements.map { literal(it, line) }
+                JCode { frame -> JArray(elements.map { it.evaluate(frame) }) }
+            }
+            is JVariable -> {
+                val slot = slot(value.name)
+                JCode { frame -> JFrame.variable(frame, slot, value.name, line) }
+            }
+            else -> JCode { value }
+        }
+    }
+
+    // Linha reportada nos erros das expressões da instrução na posição index.
+    fun expressionLine(index: Int): Int = script.lines[index] - 1
+
+    // Expressões respondidas por um load em streaming, com o slot do resultado de cada uma.
+    fun streamedTargets(index: Int): Pair<List<JExpression>, IntArray>? {
+        val uses = streamableLoads[index] ?: return null
+        return uses to uses.map { streamedSlots.getOrPut(it) { streamedSlots.size } }.toIntArray()
+    }
+}
+
+private class JClosureCompilation(script: JScript, options: JOptions) : JCompilation(script, options) {
+
+    override fun body(): JBody {
+        val steps = script.instructions.mapIndexed { index, instruction -> instruction(instruction, index) }
+        return JBody { frame ->
+            for (index in steps.indices) {
+                try {
+                    steps[index].execute(frame)
+                } catch (e: Exception) {
+                    throw JExecutionException("${e.message}", script.lines[index])
+                }
+            }
+        }
+    }
+
+    fun instruction(instruction: JInstruction, index: Int): JStep {
+        return when (instruction) {
+            is JLoad -> load(instruction, index)
+            is JSave -> {
+                val slot = slot(instruction.id)
+                JStep { frame -> JFrame.save(frame, slot, instruction) }
+            }
+            is JAssign -> {
+                val code = expression(instruction.expression, expressionLine(index))
+                val slot = slot(instruction.varId)
+                JStep { frame -> frame.values[slot] = code.evaluate(frame) }
+            }
+        }
+    }
+
+    fun load(instruction: JLoad, index: Int): JStep {
+        val projection = projection(instruction)
+        val streamed = streamedTargets(index)
+        if (streamed != null) {
+            val (uses, targets) = streamed
+            return JStep { frame -> JFrame.stream(frame, instruction, uses, targets, projection) }
+        }
+        val slot = slot(instruction.id)
+        val lazy = options.lazyLoad
+        return JStep { frame -> JFrame.load(frame, slot, instruction, projection, lazy) }
+    }
+
+    fun expression(expression: JExpression, line: Int): JCode {
+        val code = direct(expression, line)
+        val streamed = streamedSlots[expression] ?: return code
+        val text = expression.toString()
+        // Antes do load a expressão ainda não tem resultado e é avaliada como no interpretador.
+        return JCode { frame -> JFrame.streamed(frame, streamed, text, line) ?: code.evaluate(frame) }
+    }
+
+    private fun direct(expression: JExpression, line: Int): JCode {
+        return when (expression) {
+            is JVariable -> variable(expression.name, line)
+            is JValueExpression -> value(expression.value, line)
+            is JPropertyAccess -> property(expression, line)
+            is JOperationsAccess -> groupedAggregate(expression, line) ?: fusedAggregate(expression, line) ?: deepAggregate(expression, line) ?: run {
+                val value = expression(expression.value, line)
+                val operator = expression.operator
+                val text = expression.toString()
+                JCode { frame -> JFrame.aggregate(frame, value.evaluate(frame), operator, text, line) }
+            }
+            is JSortAccess -> {
+                val value = expression(expression.value, line)
+                val text = expression.toString()
+                JCode { frame -> JFrame.sort(frame, value.evaluate(frame), expression, text, line) }
+            }
+            is JJoin -> {
+                val left = expression(expression.left, line)
+                val right = expression(expression.right, line)
+                val text = expression.toString()
+                JCode { frame -> JFrame.join(frame, left.evaluate(frame), right.evaluate(frame), expression, text, line) }
+            }
+            is JArray -> literal(expression, line)
+        }
+    }
+
+    private fun fusedAggregate(expression: JOperationsAccess, line: Int): JCode? {
+        val path = fusablePath(expression) ?: return null
+        val base = expression(JVariable(path.base), line)
+        val first = path.property[0]
+        val second = path.property[1]
+        val operator = expression.operator
+        val siblings = pathFields[path.base to first].orEmpty()
+        val text = path.toString()
+        return JCode { frame -> JFrame.aggregatePath(frame, base.evaluate(frame), first, second, operator, siblings, text, line) }
+    }
+
+    private fun groupedAggregate(expression: JOperationsAccess, line: Int): JCode? {
+        val path = groupedPath(expression) ?: return null
+        val base = expression(JVariable(path.base), line)
+        val plan = JPathPlan(path)
+        val operator = expression.operator
+        val key = expression.groupBy!!
+        val text = expression.toString()
+        return JCode { frame -> JFrame.group(frame, base.evaluate(frame), plan, operator, key, text, line) }
+    }
+
+    private fun deepAggregate(expression: JOperationsAccess, line: Int): JCode? {
+        val path = deepPath(expression) ?: return null
+        val base = expression(JVariable(path.base), line)
+        val plan = JPathPlan(path)
+        val operator = expression.operator
+        val text = path.toString()
+        return JCode { frame -> JFrame.aggregateDeepPath(frame, base.evaluate(frame), plan, operator, text, line) }
+    }
+
+    private fun variable(name: String, line: Int): JCode {
+        val slot = slot(name)
+        return JCode { frame -> JFrame.variable(frame, slot, name, line) }
+    }
+
+    private fun value(value: JValue, line: Int): JCode = if (value is JObject) literal(value, line) else JCode { value }
+
+    private fun property(expression: JPropertyAccess, line: Int): JCode {
+        val base = expression(JVariable(expression.base), line)
+        val property = expression.property
+        val text = expression.toString()
+        return when {
+            expression.usesPlan -> {
+                val plan = JPathPlan(expression)
+                JCode { frame -> JFrame.deepPath(frame, base.evaluate(frame), plan, text, line) }
+            }
+            property.isEmpty() -> base
+            property.size > 1 -> {
+                val first = property[0]
+                val second = property[1]
+                val siblings = pathFields[expression.base to first].orEmpty()
+                JCode { frame -> JFrame.path(frame, base.evaluate(frame), first, second, siblings, text, line) }
+            }
+            else -> {
+                val name = property[0]
+                JCode { frame -> JFrame.property(frame, base.evaluate(frame), name, text, line) }
+            }
+        }
+    }
+}
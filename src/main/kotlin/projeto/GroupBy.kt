@@ -0,0 +1,143 @@
+package projeto
+
+/**
+ * Tabela de grupos de `path | OP BY chave`: as chaves são numeradas por um [JKeyIndex] e, para cada grupo, o
+ * estado do operador fica em [STRIDE] posições seguidas de um único [LongArray] (sem um [JAccumulator] por grupo,
+ * e cada soma toca numa só linha de cache). O estado e os resultados são os de [JAccumulator]; os grupos
+ * ficam pela ordem em que apareceram.
+ *
+ * Cada grupo é um campo do resultado, por isso as chaves com o mesmo nome de campo (a string `"6"` e o número
+ * `6`, ou `"null"` e `null`) são o mesmo grupo: o nome só é calculado na primeira vez que cada chave aparece.
+ */
+internal class JGroupTable(private val operator: String) {
+    private val keys = JKeyIndex<JValue>()
+    private val names = JKeyIndex<String>()
+
+    // Grupo (posição em names) de cada chave distinta de keys.
+    private var groups = IntArray(INITIAL_GROUPS)
+
+    // Por grupo: COUNT, NUMBERS, SUM (long, ou os bits de um double depois de INEXACT), COMPENSATION, MAX e MIN
+    // (long, ou double depois de FRACTIONAL) e as flags.
+    private var state = LongArray(INITIAL_GROUPS * STRIDE)
+
+    val size: Int get() = names.size
+
+    init {
+        if (operator !in JOperations.OPERATORS) throw IllegalArgumentException("Unsupported operator: $operator")
+    }
+
+    fun add(key: JValue, value: JValue) {
+        val distinct = keys.size
+        val k = keys.add(key)
+        if (k == distinct) {
+            if (k == groups.size) groups = groups.copyOf(k * 2)
+            groups[k] = names.add(name(key))
+        }
+        val group = groups[k]
+        if ((group + 1) * STRIDE > state.size) state = state.copyOf(state.size * 2)
+        val base = group * STRIDE
+        state[base + COUNT]++
+        when (value) {
+            is JLong -> addLong(base, value.value)
+            is JDouble -> addDouble(base, value.value)
+            else -> Unit
+        }
+    }
+
+    private fun addLong(base: Int, value: Long) {
+        val first = state[base + NUMBERS]++ == 0L
+        val flags = state[base + FLAGS]
+        if (flags and FRACTIONAL != 0L) {
+            val d = value.toDouble()
+            setDouble(base + MAX, maxOf(getDouble(base + MAX), d))
+            setDouble(base + MIN, minOf(getDouble(base + MIN), d))
+        } else {
+            state[base + MAX] = if (first) value else maxOf(state[base + MAX], value)
+            state[base + MIN] = if (first) value else minOf(state[base + MIN], value)
+        }
+        if (flags and INEXACT != 0L) return addToSum(base, value.toDouble())
+        val total = state[base + SUM]
+        val result = total + value
+        if ((total xor result) and (value xor result) < 0) {
+            state[base + FLAGS] = flags or INEXACT
+            setDouble(base + SUM, total.toDouble())
+            addToSum(base, value.toDouble())
+        } else {
+            state[base + SUM] = result
+        }
+    }
+
+    private fun addDouble(base: Int, value: Double) {
+        val first = state[base + NUMBERS]++ == 0L
+        var flags = state[base + FLAGS]
+        if (flags and FRACTIONAL == 0L) {
+            // Até aqui só houve inteiros: o máximo e o mínimo passam a ser doubles.
+            flags = flags or FRACTIONAL
+            if (!first) {
+                setDouble(base + MAX, state[base + MAX].toDouble())
+                setDouble(base + MIN, state[base + MIN].toDouble())
+            }
+        }
+        setDouble(base + MAX, if (first) value else maxOf(getDouble(base + MAX), value))
+        setDouble(base + MIN, if (first) value else minOf(getDouble(base + MIN), value))
+        if (flags and INEXACT == 0L) {
+            flags = flags or INEXACT
+            setDouble(base + SUM, state[base + SUM].toDouble())
+        }
+        state[base + FLAGS] = flags
+        addToSum(base, value)
+    }
+
+    // Soma de Neumaier, como em JAccumulator.
+    private fun addToSum(base: Int, value: Double) {
+        val current = getDouble(base + SUM)
+        val total = current + value
+        val compensation = getDouble(base + COMPENSATION)
+        setDouble(base + COMPENSATION, compensation + if (Math.abs(current) >= Math.abs(value)) (current - total) + value else (value - total) + current)
+        setDouble(base + SUM, total)
+    }
+
+    private fun result(group: Int): JValue {
+        val base = group * STRIDE
+        val flags = state[base + FLAGS]
+        val inexact = flags and INEXACT != 0L
+        val fractional = flags and FRACTIONAL != 0L
+        val numbers = state[base + NUMBERS]
+        val doubleSum = if (!inexact) state[base + SUM].toDouble() else getDouble(base + COMPENSATION).let {
+            if (it.isFinite()) getDouble(base + SUM) + it else getDouble(base + SUM)
+        }
+        return when (operator) {
+            "SUM" -> if (inexact) JDouble(doubleSum) else JLong(state[base + SUM])
+            "COUNT" -> JLong(state[base + COUNT])
+            "MAX" -> if (numbers == 0L) throw NoSuchElementException() else if (fractional) JDouble(getDouble(base + MAX)) else JLong(state[base + MAX])
+            "MIN" -> if (numbers == 0L) throw NoSuchElementException() else if (fractional) JDouble(getDouble(base + MIN)) else JLong(state[base + MIN])
+            else -> JDouble(doubleSum / numbers)
+        }
+    }
+
+    private fun getDouble(index: Int) = Double.fromBits(state[index])
+
+    private fun setDouble(index: Int, value: Double) {
+        state[index] = value.toRawBits()
+    }
+
+    /** Um campo por grupo; as chaves que não são strings ficam com o seu texto JSON. */
+    fun result(): JObject = JObject(names.keys.mapIndexed { group, name -> JField(name, result(group)) })
+
+    private fun name(key: JValue): String = if (key is JString) key.value else key.prettyString()
+
+    companion object {
+        private const val INITIAL_GROUPS = 8
+
+        private const val STRIDE = 8
+        private const val COUNT = 0
+        private const val NUMBERS = 1
+        private const val SUM = 2
+        private const val COMPENSATION = 3
+        private const val MAX = 4
+        private const val MIN = 5
+        private const val FLAGS = 6
+        private const val INEXACT = 1L
+        private const val FRACTIONAL = 2L
+    }
+}
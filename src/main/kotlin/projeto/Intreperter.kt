@@ -1,8 +1,42 @@
 package projeto
 
-data class JIntepreter(val script : JScript){
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ForkJoinPool
+
+/**
+ * Opções de execução do [JIntepreter].
+ *
+ * @property fullMemory todas as variáveis atribuídas ficam completas em `memory` (útil para as inspecionar
+ * depois da execução); quando falso só os valores que chegam a um `save` são garantidamente completos.
+ * Os documentos carregados nunca são garantidos: podem ser lidos em streaming ou projetados.
+ * @property lazyLoad os contentores dentro da raiz de um documento carregado só são lidos quando acedidos.
+ * @property parallelism número de threads usadas para executar em paralelo as instruções independentes;
+ * com 1 as instruções são executadas pela ordem do script. Com mais de 1, os agregados sobre arrays grandes
+ * também são divididos pelas mesmas threads.
+ * @property pool pool usado com parallelism > 1, partilhado entre execuções e fechado por quem o criou; sem
+ * ele cada execução cria um pool de [parallelism] threads e fecha-o quando termina.
+ */
+data class JOptions(val fullMemory: Boolean = true, val lazyLoad: Boolean = true, val parallelism: Int = 1, val pool: ForkJoinPool? = null)
+
+data class JIntepreter(val script : JScript, val options: JOptions = JOptions()){
     val memory = mutableMapOf<String, JValue>()
     private val argJScript = mutableMapOf<String, String>()
+    private val streamableLoads by lazy { JScriptAnalysis.streamableLoads(script) }
+    private val projections by lazy { JScriptAnalysis.projections(script, options.fullMemory) }
+    private val streamed = ConcurrentHashMap<JExpression, Result<JValue>>()
+    private val diagnostics by lazy { script.validate() }
+    private val dependencies by lazy { JScriptAnalysis.dependencies(script) }
+    // Pool da execução em curso, só com parallelism > 1 (ver JOptions.pool).
+    private var pool: ForkJoinPool? = null
+    private val pathFields by lazy { JScriptAnalysis.pathFields(script) }
+    private var paths = JPathCache()
+    private val plans = ConcurrentHashMap<JPropertyAccess, JPathPlan>()
+
+    // Instrução em execução: a posição no script, a linha usada nos erros das expressões (a anterior à da
+    // instrução, como sempre foi reportado), onde registar os erros e a memória que lê e escreve.
+    private inner class Step(val index: Int, val errors: MutableList<JError>, val memory: MutableMap<String, JValue>) {
+        val line = script.lines[index] - 1
+    }
 
     fun run(arguments: List<String>){
         var index = 1
@@ -12,61 +46,141 @@ data class JIntepreter(val script : JScript){
             index++
         }
 
+        script.errorsList.addAll(diagnostics)
+        if (options.parallelism == 1) {
+            paths = JPathCache()
+            runSequential()
+            return
+        }
+        val owned = if (options.pool == null) ForkJoinPool(options.parallelism) else null
+        pool = options.pool ?: owned
+        paths = JPathCache(pool)
+        try {
+            runParallel()
+        } finally {
+            owned?.shutdown()
+            pool = null
+        }
+    }
+
+    private fun runSequential() {
         script.instructions.forEachIndexed { indexVal, instruction ->
             try {
-                script.validate()
-                executeInstruction(instruction, indexVal)
+                executeInstruction(instruction, Step(indexVal, script.errorsList, memory))
             }catch (e : Exception){
-                println("Error at line ${indexVal + 1}: ${e.message}")
-                script.errorsList.add(JVarError(instruction.toString(), indexVal + 1))
+                println("Error at line ${script.lines[indexVal]}: ${e.message}")
+                script.errorsList.add(JVarError(instruction.toString(), script.lines[indexVal]))
                 return
             }
         }
     }
 
-    private fun executeInstruction(instruction: JInstruction, line: Int) {
-        when (instruction){
+    /**
+     * Executa as instruções pelo grafo de [dependencies] numa [ForkJoinPool]. Cada instrução escreve numa
+     * memória de trabalho e guarda o valor que atribuiu; no fim, `memory` e os erros recebem, pela ordem
+     * do script, só as instruções anteriores à primeira que falhou, tal como na execução sequencial.
+     */
+    private fun runParallel() {
+        val instructions = script.instructions
+        val working = ConcurrentHashMap(memory)
+        val written = arrayOfNulls<JValue>(instructions.size)
+        val errors = arrayOfNulls<MutableList<JError>>(instructions.size)
+        val failure = JScheduler(dependencies, pool!!).run { i ->
+            val step = Step(i, mutableListOf(), working)
+            errors[i] = step.errors
+            written[i] = executeInstruction(instructions[i], step)
+        }
+        val end = failure?.index ?: instructions.size
+        for (i in 0 until end) {
+            val value = written[i] ?: continue
+            when (val instruction = instructions[i]) {
+                is JLoad -> memory[instruction.id] = value
+                is JAssign -> memory[instruction.varId] = value
+                is JSave -> Unit
+            }
+        }
+        if (failure != null) {
+            script.errorsList.addAll(errors[end].orEmpty())
+            println("Error at line ${script.lines[end]}: ${failure.exception.message}")
+            script.errorsList.add(JVarError(instructions[end].toString(), script.lines[end]))
+        }
+    }
+
+    // Devolve o valor atribuído pela instrução, se houver.
+    private fun executeInstruction(instruction: JInstruction, step: Step): JValue? {
+        return when (instruction){
             is JLoad -> {
-                memory[instruction.id] = instruction.run(argJScript[instruction.ficheiro] ?: instruction.ficheiro)
+                val ficheiro = argJScript[instruction.ficheiro] ?: instruction.ficheiro
+                val uses = streamableLoads[step.index]
+                val projection = projections[instruction.id] ?: JProjection.EMPTY
+                if (uses != null) {
+                    streamed.putAll(instruction.stream(ficheiro, uses, projection))
+                    null
+                } else {
+                    instruction.run(ficheiro, projection, options.lazyLoad).also { step.memory[instruction.id] = it }
+                }
                 //println("Memory after load: $memory")
                 //println("ArgJScript after load: $argJScript")
             }
             is JSave -> {
-                val objeto = memory[instruction.id] ?: throw IllegalArgumentException("No value found for id: ${instruction.id}")
+                val objeto = step.memory[instruction.id] ?: throw IllegalArgumentException("No value found for id: ${instruction.id}")
                 instruction.run(objeto, argJScript[instruction.ficheiro].toString())
+                null
             }
             is JAssign -> {
-                memory[instruction.varId] = evaluateExpression(instruction.expression, line)
+                evaluateExpression(instruction.expression, step).also { step.memory[instruction.varId] = it }
                 //println("Memory after assign: $memory")
                 //println("ArgJScript after assign: $argJScript")
             }
         }
     }
 
-    private fun evaluateExpression(expression: JExpression, line: Int): JValue {
+    private fun evaluateExpression(expression: JExpression, step: Step): JValue {
+        streamed[expression]?.let { result ->
+            return result.getOrElse {
+                step.errors.add(JVarError(expression.toString(), step.line))
+                throw it
+            }
+        }
         return when (expression) {
-            is JVariable -> evaluateVariable(expression, line)
-            is JValueExpression -> evaluateValueExpression(expression, line)
-            is JPropertyAccess -> evaluatePropertyAccess(expression, line)
-            is JOperationsAccess -> evaluateOperationsAccess(expression, line)
-            else -> TODO()
+            is JVariable -> evaluateVariable(expression, step)
+            is JValueExpression -> evaluateValueExpression(expression, step)
+            is JPropertyAccess -> evaluatePropertyAccess(expression, step)
+            is JOperationsAccess -> evaluateOperationsAccess(expression, step)
+            is JSortAccess -> {
+                val value = evaluateExpression(expression.value, step)
+                recording(expression, step) { JOperations.sort(value, expression) }
+            }
+            is JJoin -> {
+                val left = evaluateExpression(expression.left, step)
+                val right = evaluateExpression(expression.right, step)
+                recording(expression, step) { JOperations.join(left, right, expression) }
+            }
+            is JArray -> JArray(expression.elements.map { element ->
+                when (element) {
+                    is JVariable -> evaluateVariable(element, step)
+                    is JArray -> evaluateExpression(element, step)
+                    is JObject -> evaluateValueExpression(JValueExpression(element), step)
+                    else -> element
+                }
+            })
         }
     }
 
-    private fun evaluateVariable(expression: JVariable, line: Int): JValue {
-        return memory[expression.name] ?: throw IllegalArgumentException("No value found for variable: ${expression.name}").also {
-            script.errorsList.add(JVarError(expression.name, line))
+    private fun evaluateVariable(expression: JVariable, step: Step): JValue {
+        return step.memory[expression.name] ?: throw IllegalArgumentException("No value found for variable: ${expression.name}").also {
+            step.errors.add(JVarError(expression.name, step.line))
         }
     }
 
-    private fun evaluateValueExpression(expression: JValueExpression, line: Int): JValue {
+    private fun evaluateValueExpression(expression: JValueExpression, step: Step): JValue {
         return if (expression.value is JObject) {
             val newFields = expression.value.fields.map { field ->
-                val fieldValue = memory[field.value.toString()]
+                val fieldValue = step.memory[field.value.toString()]
                 if (fieldValue != null) {
                     JField(field.name, fieldValue)
                 } else {
-                    script.errorsList.add(JVarError(field.value.toString(), line))
+                    step.errors.add(JVarError(field.value.toString(), step.line))
                     throw IllegalArgumentException("No value found for variable: ${field.value}")
                 }
             }
@@ -76,119 +190,51 @@ data class JIntepreter(val script : JScript){
         }
     }
 
-    private fun evaluatePropertyAccess(expression: JPropertyAccess, line: Int): JValue {
-        val baseValue = evaluateExpression(JVariable(expression.base), line)
+    private fun evaluatePropertyAccess(expression: JPropertyAccess, step: Step): JValue {
+        val baseValue = evaluateExpression(JVariable(expression.base), step)
+        val property = expression.property
         return when {
-            expression.property.size > 1 -> evaluateNestedProperty(baseValue, expression, line)
-            expression.property.isEmpty() -> baseValue
-            else -> evaluateSingleProperty(baseValue, expression.property[0], expression, line)
-        }
-    }
-
-    private fun evaluateNestedProperty(baseValue: JValue, expression: JPropertyAccess, line: Int): JValue {
-        return when (baseValue) {
-            is JObject -> {
-                val result = baseValue.fields.find { it.name == expression.property[0] }?.value
-                if (result is JArray) {
-                    val values = result.elements.mapNotNull {
-                        if (it is JObject) {
-                            it.fields.find { field -> field.name == expression.property[1] }?.value
-                        } else null
-                    }
-                    JArray(values)
-                } else {
-                    throw IllegalArgumentException("Property ${expression.property[1]} not found in object").also {
-                        script.errorsList.add(JVarError(expression.toString(), line))
-                    }
-                }
-            }
-            else -> throw IllegalArgumentException("Property ${expression.property[0]} not found in object").also {
-                script.errorsList.add(JVarError(expression.toString(), line))
+            expression.usesPlan -> recording(expression, step) { plan(expression).evaluate(baseValue) }
+            property.isEmpty() -> baseValue
+            property.size > 1 -> recording(expression, step) {
+                paths.path(baseValue, property[0], property[1], pathFields[expression.base to property[0]].orEmpty())
             }
+            else -> recording(expression, step) { JOperations.property(baseValue, property[0]) }
         }
     }
 
-    private fun evaluateSingleProperty(baseValue: JValue, property: String, expression: JPropertyAccess, line: Int): JValue {
-        return when (baseValue) {
-            is JObject -> {
-                baseValue.fields.find { it.name == property }?.value
-                    ?: throw IllegalArgumentException("Property $property not found in object").also {
-                        script.errorsList.add(JVarError(expression.toString(), line))
-                    }
-            }
-            else -> throw IllegalArgumentException("Property $property not found in object").also {
-                script.errorsList.add(JVarError(expression.toString(), line))
-            }
-        }
-    }
-
-    private fun evaluateOperationsAccess(expression: JOperationsAccess, line: Int): JValue {
-        val value = evaluateExpression(expression.value, line)
-        return when (val operator = expression.operator) {
-            "SUM" -> evaluateSum(value, expression, line)
-            "COUNT" -> evaluateCount(value, expression, line)
-            "MAX" -> evaluateMax(value, expression, line)
-            "MIN" -> evaluateMin(value, expression, line)
-            "AVG" -> evaluateAvg(value, expression, line)
-            else -> throw IllegalArgumentException("Unsupported operator: $operator").also {
-                script.errorsList.add(JVarError(expression.toString(), line))
-            }
+    private fun evaluateOperationsAccess(expression: JOperationsAccess, step: Step): JValue {
+        val path = expression.value
+        if (expression.groupBy != null) {
+            if (path !is JPropertyAccess) throw IllegalArgumentException("BY requires a path: $expression")
+            val baseValue = evaluateExpression(JVariable(path.base), step)
+            return recording(expression, step) { plan(path).group(expression.operator, baseValue, expression.groupBy) }
         }
-    }
-
-    private fun evaluateSum(value: JValue, expression: JOperationsAccess, line: Int): JValue {
-        return if (value is JArray) {
-            val sum = value.elements.filterIsInstance<JNumber>().sumOf { it.value.toDouble() }
-            JNumber(sum)
-        } else {
-            throw IllegalArgumentException("SUM operation requires an array of numbers").also {
-                script.errorsList.add(JVarError(expression.toString(), line))
-            }
-        }
-    }
-
-    private fun evaluateCount(value: JValue, expression: JOperationsAccess, line: Int): JValue {
-        return if (value is JArray) {
-            val count = value.elements.count()
-            JNumber(count)
-        } else {
-            throw IllegalArgumentException("COUNT operation requires an array of a value").also {
-                script.errorsList.add(JVarError(expression.toString(), line))
-            }
+        if (path is JPropertyAccess && path.usesPlan && expression.operator in JOperations.ACCUMULATED_OPERATORS) {
+            // Os valores do caminho (filtrados, se for o caso) vão diretamente para o acumulador, como no agregado fundido.
+            val baseValue = evaluateExpression(JVariable(path.base), step)
+            return recording(path, step) { plan(path).aggregate(expression.operator, baseValue, pool) }
         }
-    }
-
-    private fun evaluateMax(value: JValue, expression: JOperationsAccess, line: Int): JValue {
-        return if (value is JArray) {
-            val max = value.elements.filterIsInstance<JNumber>().maxOf { it.value.toDouble() }
-            JNumber(max)
-        } else {
-            throw IllegalArgumentException("MAX operation requires an array of numbers").also {
-                script.errorsList.add(JVarError(expression.toString(), line))
+        if (path is JPropertyAccess && path.property.size == 2 && path.filters.isEmpty() && expression.operator in JOperations.OPERATORS) {
+            // Agregado fundido: o array do caminho nunca é construído.
+            val baseValue = evaluateExpression(JVariable(path.base), step)
+            val first = path.property[0]
+            return recording(path, step) {
+                paths.aggregate(baseValue, first, path.property[1], expression.operator, pathFields[path.base to first].orEmpty())
             }
         }
+        val value = evaluateExpression(expression.value, step)
+        return recording(expression, step) { JOperations.aggregate(expression.operator, value, pool) }
     }
 
-    private fun evaluateMin(value: JValue, expression: JOperationsAccess, line: Int): JValue {
-        return if (value is JArray) {
-            val min = value.elements.filterIsInstance<JNumber>().minOf { it.value.toDouble() }
-            JNumber(min)
-        } else {
-            throw IllegalArgumentException("MIN operation requires an array of numbers").also {
-                script.errorsList.add(JVarError(expression.toString(), line))
-            }
-        }
-    }
+    private fun plan(path: JPropertyAccess): JPathPlan = plans.getOrPut(path) { JPathPlan(path) }
 
-    private fun evaluateAvg(value: JValue, expression: JOperationsAccess, line: Int): JValue {
-        return if (value is JArray) {
-            val numbers = value.elements.filterIsInstance<JNumber>()
-            val avg = numbers.map { it.value.toDouble() }.average()
-            JNumber(avg)
-        } else {
-            throw IllegalArgumentException("AVG operation requires an array of numbers").also {
-                script.errorsList.add(JVarError(expression.toString(), line))
-            }
+    private inline fun recording(expression: JExpression, step: Step, operation: () -> JValue): JValue {
+        return try {
+            operation()
+        } catch (e: IllegalArgumentException) {
+            step.errors.add(JVarError(expression.toString(), step.line))
+            throw e
         }
     }
-}
\ No newline at end of file
+}
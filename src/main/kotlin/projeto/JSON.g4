@@ -7,14 +7,24 @@ array: '[' (value (',' value)*)? ']';
 
 script: instruction+ ;
 instruction: loadStatement | saveStatement | assign;
-loadStatement: 'load' PARAMETER 'to' ID;
-saveStatement: 'save' ID 'to' PARAMETER;
-assign: ID '=' expression;
-expression: expressionAccess | value | variable;
-expressionAccess: ID ('.' ID)* ('|' OP)?;
-variable: ID;
+loadStatement: 'load' PARAMETER 'to' identifier;
+saveStatement: 'save' identifier 'to' PARAMETER;
+assign: identifier '=' expression;
+expression: join | expressionAccess | value | variable;
+join: 'join' expressionAccess ',' expressionAccess 'on' identifier '=' identifier;
+expressionAccess: identifier filter? ('.' identifier filter?)* ('|' (operator ('BY' identifier)? | order))?;
+order: 'SORT' ('BY' identifier)? 'DESC'? | 'TOP' NUMBER ('BY' identifier)?;
+filter: '[' comparison ('and' comparison)* ']';
+comparison: identifier COMPARATOR value;
+variable: identifier;
+// Os operadores acrescentados depois de OP são literais, para poderem também ser nomes.
+operator: OP | 'DISTINCT' | 'APPROX_DISTINCT' | 'MEDIAN' | 'P50' | 'P90' | 'P95' | 'P99';
+// As palavras reservadas das expressões continuam a poder ser nomes de variáveis e de campos.
+identifier: ID | 'and' | 'BY' | 'SORT' | 'DESC' | 'TOP' | 'join' | 'on' | 'DISTINCT' | 'APPROX_DISTINCT'
+    | 'MEDIAN' | 'P50' | 'P90' | 'P95' | 'P99';
 
 OP: 'SUM' | 'MAX' | 'MIN' | 'COUNT' | 'AVG';
+COMPARATOR: '==' | '!=' | '>=' | '<=' | '>' | '<';
 PARAMETER: '$' INT;
 ID: [a-zA-Z_][a-zA-Z0-9_]*;
 STRING: '"' (ESC | ~["\\])* '"';
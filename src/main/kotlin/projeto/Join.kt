@@ -0,0 +1,93 @@
+package projeto
+
+/**
+ * `join esquerda, direita on chave = outra`: para cada par de objetos com `esquerda.chave == direita.outra`
+ * (iguais como em [JValue.equals], por isso `6 == 6.0`), um objeto com os campos do da esquerda seguidos dos
+ * campos do da direita que não existem no primeiro. Objetos sem a chave, ou com a chave a `null`, e elementos
+ * que não são objetos não aparecem no resultado.
+ *
+ * O resultado segue sempre a ordem da esquerda e, para cada objeto da esquerda, a da direita, qualquer que seja
+ * o lado maior: o mesmo join sobre ficheiros de tamanhos diferentes dá as linhas pela mesma ordem.
+ *
+ * É um hash join: as chaves do lado mais pequeno são numeradas num [JKeyIndex] e as posições com a mesma chave
+ * ficam encadeadas num [IntArray], por isso a memória extra é proporcional a esse lado; o lado maior é
+ * percorrido uma vez. Quando o lado mais pequeno é o da esquerda, as linhas encontradas são depois ordenadas pela
+ * posição da esquerda com uma contagem, que mantém a ordem da direita entre as linhas da mesma posição.
+ */
+internal object JHashJoin {
+
+    fun join(left: List<JValue>, right: List<JValue>, leftKey: String, rightKey: String): List<JValue> {
+        val buildLeft = left.size <= right.size
+        val build = if (buildLeft) left else right
+        val probe = if (buildLeft) right else left
+        val buildKeys = keys(build, if (buildLeft) leftKey else rightKey)
+        val probeKeys = keys(probe, if (buildLeft) rightKey else leftKey)
+
+        val index = JKeyIndex<JValue>()
+        var first = IntArray(INITIAL_KEYS) { NONE }
+        val next = IntArray(build.size)
+        // Percorrido do fim para o início, cada posição fica à cabeça da sua cadeia: as cadeias ficam pela ordem do array.
+        for (i in build.indices.reversed()) {
+            val key = buildKeys(i) ?: continue
+            val k = index.add(key)
+            if (k == first.size) first = first.copyOf(first.size * 2).apply { fill(NONE, k, size) }
+            next[i] = first[k]
+            first[k] = i
+        }
+
+        val result = ArrayList<JValue>()
+        val rows = arrayOfNulls<JObject>(build.size)
+        // Posição da esquerda de cada linha, para as ordenar quando o lado percorrido é o da direita.
+        var lefts = IntArray(if (buildLeft) INITIAL_KEYS else 0)
+        for (j in probe.indices) {
+            val key = probeKeys(j) ?: continue
+            val k = index.indexOf(key)
+            if (k < 0) continue
+            val probeRow = probe[j].resolve() as JObject
+            var i = first[k]
+            while (i != NONE) {
+                // As linhas de um array colunar são reconstruídas a cada leitura, por isso cada uma é lida uma só vez.
+                val buildRow = rows[i] ?: (build[i].resolve() as JObject).also { rows[i] = it }
+                if (buildLeft) {
+                    if (result.size == lefts.size) lefts = lefts.copyOf(lefts.size * 2)
+                    lefts[result.size] = i
+                }
+                result.add(if (buildLeft) merge(buildRow, probeRow) else merge(probeRow, buildRow))
+                i = next[i]
+            }
+        }
+        return if (buildLeft) orderByLeft(result, lefts, left.size) else result
+    }
+
+    // Ordena as linhas pela posição da esquerda com uma contagem, estável: cada posição mantém a ordem da direita.
+    private fun orderByLeft(rows: List<JValue>, lefts: IntArray, size: Int): List<JValue> {
+        val start = IntArray(size + 1)
+        for (p in rows.indices) start[lefts[p] + 1]++
+        for (i in 1..size) start[i] += start[i - 1]
+        val ordered = arrayOfNulls<JValue>(rows.size)
+        for (p in rows.indices) ordered[start[lefts[p]]++] = rows[p]
+        @Suppress("UNCHECKED_CAST")
+        return (ordered as Array<JValue>).asList()
+    }
+
+    // Chave de cada posição, ou null para as que não entram no join; nos arrays colunares é lida da coluna.
+    private fun keys(rows: List<JValue>, key: String): (Int) -> JValue? {
+        if (rows is JColumnarRows) {
+            val column = rows.column(key) ?: return { null }
+            return { i -> if (column.isNull(i)) null else column[i] }
+        }
+        return { i -> ((rows[i].resolve() as? JObject)?.get(key)?.resolve())?.takeIf { it != JNull } }
+    }
+
+    private fun merge(left: JObject, right: JObject): JObject {
+        val fields = ArrayList<JField>(left.fields.size + right.fields.size)
+        fields.addAll(left.fields)
+        for (field in right.fields) {
+            if (left[field.name] == null) fields.add(field)
+        }
+        return JObject(fields)
+    }
+
+    private const val NONE = -1
+    private const val INITIAL_KEYS = 16
+}
@@ -0,0 +1,98 @@
+package projeto
+
+import java.io.File
+import java.io.OutputStream
+import java.nio.MappedByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.charset.Charset
+import java.nio.file.StandardOpenOption
+
+/**
+ * Origem dos bytes UTF-8 lidos pelo [JsonReader], endereçada por posições `Long`
+ * para suportar ficheiros maiores que 2 GB.
+ */
+sealed interface JsonInput {
+    val size: Long
+
+    operator fun get(pos: Long): Byte
+
+    fun string(start: Long, end: Long, charset: Charset = Charsets.UTF_8): String
+
+    fun copyTo(start: Long, end: Long, out: OutputStream)
+
+    companion object {
+        fun open(file: File, mmapThreshold: Long = JLoad.mmapThreshold): JsonInput {
+            return if (file.length() >= mmapThreshold) MappedInput(file) else ByteArrayInput(file.readBytes())
+        }
+    }
+}
+
+class ByteArrayInput(private val bytes: ByteArray) : JsonInput {
+    override val size: Long = bytes.size.toLong()
+
+    override fun get(pos: Long): Byte = bytes[pos.toInt()]
+
+    override fun string(start: Long, end: Long, charset: Charset): String =
+        String(bytes, start.toInt(), (end - start).toInt(), charset)
+
+    override fun copyTo(start: Long, end: Long, out: OutputStream) = out.write(bytes, start.toInt(), (end - start).toInt())
+}
+
+/**
+ * Ficheiro mapeado em memória com `FileChannel.map`, dividido em blocos de [CHUNK_SIZE]
+ * bytes porque cada [MappedByteBuffer] está limitado a 2 GB.
+ */
+class MappedInput(file: File) : JsonInput {
+    private val chunks: Array<MappedByteBuffer> = map(file)
+    override val size: Long = file.length()
+
+    override fun get(pos: Long): Byte = chunks[(pos ushr CHUNK_BITS).toInt()].get((pos and CHUNK_MASK).toInt())
+
+    override fun string(start: Long, end: Long, charset: Charset): String {
+        val bytes = ByteArray((end - start).toInt())
+        read(start, bytes, bytes.size)
+        return String(bytes, charset)
+    }
+
+    override fun copyTo(start: Long, end: Long, out: OutputStream) {
+        val buffer = ByteArray(minOf(end - start, COPY_BUFFER).toInt())
+        var pos = start
+        while (pos < end) {
+            val length = minOf(end - pos, buffer.size.toLong()).toInt()
+            read(pos, buffer, length)
+            out.write(buffer, 0, length)
+            pos += length
+        }
+    }
+
+    private fun read(start: Long, bytes: ByteArray, count: Int) {
+        var pos = start
+        var copied = 0
+        while (copied < count) {
+            val chunk = chunks[(pos ushr CHUNK_BITS).toInt()]
+            val offset = (pos and CHUNK_MASK).toInt()
+            val length = minOf(count - copied, chunk.limit() - offset)
+            chunk.get(offset, bytes, copied, length)
+            copied += length
+            pos += length
+        }
+    }
+
+    companion object {
+        private fun map(file: File): Array<MappedByteBuffer> {
+            return FileChannel.open(file.toPath(), StandardOpenOption.READ).use { channel ->
+                val size = channel.size()
+                val count = ((size + CHUNK_SIZE - 1) / CHUNK_SIZE).toInt()
+                Array(count) { i ->
+                    val offset = i * CHUNK_SIZE
+                    channel.map(FileChannel.MapMode.READ_ONLY, offset, minOf(CHUNK_SIZE, size - offset))
+                }
+            }
+        }
+
+        private const val CHUNK_BITS = 30
+        const val CHUNK_SIZE = 1L shl CHUNK_BITS
+        private const val CHUNK_MASK = CHUNK_SIZE - 1
+        private const val COPY_BUFFER = 64L * 1024
+    }
+}
@@ -0,0 +1,282 @@
+package projeto
+
+import java.io.File
+
+/**
+ * Tokenização de baixo nível partilhada pelo [JsonReader] (árvore) e pelo [JsonEventReader] (eventos).
+ */
+abstract class JsonScanner(protected val input: JsonInput, start: Long = 0, end: Long = input.size) {
+    protected var pos = start
+    protected val limit = end
+
+    protected fun readScalar(): JValue {
+        if (pos >= limit) throw error("Unexpected end of input")
+        return when (input[pos].toInt()) {
+            '"'.code -> JString(readString())
+            't'.code -> readLiteral("true", JBoolean(true))
+            'f'.code -> readLiteral("false", JBoolean(false))
+            'n'.code -> readLiteral("null", JNull)
+            else -> readNumber()
+        }
+    }
+
+    // Tal como o caminho ANTLR, o conteúdo fica com as sequências de escape por decodificar.
+    protected fun readString(): String {
+        val start = pos + 1
+        skipString()
+        return input.string(start, pos - 1)
+    }
+
+    protected fun skipString() {
+        pos++
+        while (true) {
+            if (pos >= limit) throw error("Unterminated string")
+            when (input[pos].toInt()) {
+                '"'.code -> {
+                    pos++
+                    return
+                }
+                '\\'.code -> pos += 2
+                else -> pos++
+            }
+        }
+    }
+
+    // Salta um valor sem o construir; dentro de contentores só é verificado o equilíbrio dos parênteses.
+    protected fun skipValue() {
+        when (peek()) {
+            '{'.code, '['.code -> {
+                var depth = 0
+                while (pos < limit) {
+                    when (input[pos].toInt()) {
+                        '"'.code -> {
+                            skipString()
+                            continue
+                        }
+                        '{'.code, '['.code -> depth++
+                        '}'.code, ']'.code -> if (--depth == 0) {
+                            pos++
+                            return
+                        }
+                    }
+                    pos++
+                }
+                throw error("Unexpected end of input")
+            }
+            '"'.code -> skipString()
+            else -> readScalar()
+        }
+    }
+
+    protected fun readNumber(): JNumber = if (scanNumber()) JLong(scannedLong) else JDouble(scannedDouble)
+
+    // Resultado do último scanNumber: scannedLong quando devolve true, scannedDouble caso contrário.
+    protected var scannedLong = 0L
+    protected var scannedDouble = 0.0
+
+    /** Lê um número sem o guardar num [JValue]; devolve `true` se for inteiro. */
+    protected fun scanNumber(): Boolean {
+        val start = pos
+        var integral = 0L
+        var digits = 0
+        var simple = true
+        if (peek() == '-'.code) pos++
+        while (pos < limit && isDigit(input[pos])) {
+            integral = integral * 10 + (input[pos] - DIGIT_0)
+            digits++
+            pos++
+        }
+        if (peek() == '.'.code) {
+            simple = false
+            pos++
+            skipDigits()
+        }
+        if (peek() == 'e'.code || peek() == 'E'.code) {
+            simple = false
+            pos++
+            if (peek() == '+'.code || peek() == '-'.code) pos++
+            skipDigits()
+        }
+        if (pos == start || (digits == 0 && simple)) throw error("Unexpected character")
+        if (simple && digits <= 18) {
+            scannedLong = if (input[start] == MINUS) -integral else integral
+            return true
+        }
+        val text = input.string(start, pos, Charsets.ISO_8859_1)
+        if (simple) {
+            text.toLongOrNull()?.let {
+                scannedLong = it
+                return true
+            }
+        }
+        scannedDouble = text.toDoubleOrNull() ?: throw error("Invalid number '$text'")
+        return false
+    }
+
+    protected fun readLiteral(literal: String, value: JValue): JValue {
+        for (c in literal) {
+            if (next() != c.code) throw error("Expected '$literal'")
+        }
+        return value
+    }
+
+    private fun skipDigits() {
+        while (pos < limit && isDigit(input[pos])) pos++
+    }
+
+    private fun isDigit(b: Byte): Boolean = b >= DIGIT_0 && b <= DIGIT_9
+
+    protected fun skipWhitespace() {
+        while (pos < limit) {
+            when (input[pos].toInt()) {
+                ' '.code, '\t'.code, '\r'.code, '\n'.code -> pos++
+                else -> return
+            }
+        }
+    }
+
+    protected fun expectEnd() {
+        skipWhitespace()
+        if (pos != limit) throw error("Unexpected content after JSON value")
+    }
+
+    protected fun peek(): Int = if (pos < limit) input[pos].toInt() else -1
+
+    protected fun next(): Int = if (pos < limit) input[pos++].toInt() else -1
+
+    protected fun expect(c: Int) {
+        if (next() != c) throw error("Expected '${c.toChar()}'")
+    }
+
+    protected fun error(message: String) = IllegalArgumentException("Invalid JSON at byte $pos: $message")
+
+    companion object {
+        private const val DIGIT_0 = '0'.code.toByte()
+        private const val DIGIT_9 = '9'.code.toByte()
+        private const val MINUS = '-'.code.toByte()
+    }
+}
+
+/**
+ * Partes de um documento que um script consegue alcançar. Num objeto só são construídos os campos em
+ * [fields]; num array a mesma projeção aplica-se a cada elemento; os escalares são sempre mantidos.
+ */
+data class JProjection(val whole: Boolean, val fields: Map<String, JProjection> = emptyMap()) {
+
+    fun field(name: String): JProjection? = if (whole) WHOLE else fields[name]
+
+    fun merge(other: JProjection): JProjection {
+        if (whole || other.whole) return WHOLE
+        val merged = fields.toMutableMap()
+        other.fields.forEach { (name, projection) ->
+            merged[name] = merged[name]?.merge(projection) ?: projection
+        }
+        return JProjection(false, merged)
+    }
+
+    companion object {
+        val WHOLE = JProjection(true)
+        val EMPTY = JProjection(false)
+
+        fun path(path: List<String>, leaf: JProjection): JProjection =
+            path.foldRight(leaf) { name, projection -> JProjection(false, mapOf(name to projection)) }
+    }
+}
+
+/**
+ * Leitor JSON recursivo que vai diretamente dos bytes UTF-8 para os nós [JValue],
+ * sem passar pelo lexer/parser ANTLR (que fica reservado aos scripts `.jql`).
+ * Os campos fora da [projection] são saltados sem serem construídos. Com [lazy], os contentores
+ * dentro da raiz ficam como [JLazyValue] e só são lidos quando acedidos.
+ */
+class JsonReader(
+    input: JsonInput,
+    private val projection: JProjection = JProjection.WHOLE,
+    private val lazy: Boolean = false,
+    start: Long = 0,
+    end: Long = input.size
+) : JsonScanner(input, start, end) {
+    private var depth = 0
+
+    constructor(bytes: ByteArray) : this(ByteArrayInput(bytes))
+
+    fun read(): JValue {
+        skipWhitespace()
+        val value = readValue(projection)
+        expectEnd()
+        return value
+    }
+
+    private fun readValue(projection: JProjection): JValue {
+        return when (peek()) {
+            '{'.code, '['.code -> if (lazy && depth == 1) readLazy(projection) else readContainer(projection)
+            else -> readScalar()
+        }
+    }
+
+    private fun readContainer(projection: JProjection): JValue {
+        depth++
+        val value = if (peek() == '{'.code) readObject(projection) else readArray(projection)
+        depth--
+        return value
+    }
+
+    private fun readLazy(projection: JProjection): JValue {
+        val start = pos
+        skipValue()
+        return JLazyValue(input, start, pos, projection)
+    }
+
+    private fun readObject(projection: JProjection): JObject {
+        pos++
+        val fields = mutableListOf<JField>()
+        skipWhitespace()
+        if (peek() == '}'.code) {
+            pos++
+            return JObject(fields)
+        }
+        while (true) {
+            skipWhitespace()
+            if (peek() != '"'.code) throw error("Expected field name")
+            val name = readString()
+            skipWhitespace()
+            expect(':'.code)
+            skipWhitespace()
+            val field = projection.field(name)
+            if (field == null) skipValue() else fields.add(JField(name, readValue(field)))
+            skipWhitespace()
+            when (next()) {
+                ','.code -> continue
+                '}'.code -> return JObject(fields)
+                else -> throw error("Expected ',' or '}'")
+            }
+        }
+    }
+
+    private fun readArray(projection: JProjection): JArray {
+        pos++
+        val elements = mutableListOf<JValue>()
+        skipWhitespace()
+        if (peek() == ']'.code) {
+            pos++
+            return JArray(elements)
+        }
+        while (true) {
+            skipWhitespace()
+            elements.add(readValue(projection))
+            skipWhitespace()
+            when (next()) {
+                ','.code -> continue
+                ']'.code -> return JArray(JColumnarRows.detect(elements))
+                else -> throw error("Expected ',' or ']'")
+            }
+        }
+    }
+
+    companion object {
+        fun parse(file: File, projection: JProjection = JProjection.WHOLE, lazy: Boolean = false): JValue =
+            JsonReader(JsonInput.open(file), projection, lazy).read()
+
+        fun parse(text: String): JValue = JsonReader(text.toByteArray(Charsets.UTF_8)).read()
+    }
+}
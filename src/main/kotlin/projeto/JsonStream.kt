@@ -0,0 +1,571 @@
+package projeto
+
+import java.util.concurrent.ForkJoinPool
+import kotlin.math.abs
+
+/**
+ * API de eventos (estilo SAX) para documentos JSON: o equivalente em streaming do
+ * `JSONListener` gerado pelo ANTLR, mas alimentado diretamente pelos bytes do ficheiro.
+ */
+interface JsonEventListener {
+    fun startObject() {}
+    fun key(name: String) {}
+    fun endObject() {}
+    fun startArray() {}
+    fun endArray() {}
+    fun value(value: JValue) {}
+
+    // Números entregues sem caixa; por omissão chegam a value como qualquer outro escalar.
+    fun longValue(value: Long) = value(JLong(value))
+    fun doubleValue(value: Double) = value(JDouble(value))
+}
+
+/**
+ * Tokenizador incremental que emite eventos sem construir a árvore. A memória usada é
+ * limitada à pilha de contentores abertos e ao maior token escalar.
+ */
+class JsonEventReader(input: JsonInput) : JsonScanner(input) {
+    private var containers = BooleanArray(16)
+    private var depth = 0
+
+    fun read(listener: JsonEventListener) {
+        var expectValue = true
+        while (true) {
+            if (expectValue) {
+                skipWhitespace()
+                when (peek()) {
+                    '{'.code -> {
+                        pos++
+                        listener.startObject()
+                        push(true)
+                        skipWhitespace()
+                        if (peek() != '}'.code) {
+                            readKey(listener)
+                            continue
+                        }
+                        pos++
+                        depth--
+                        listener.endObject()
+                    }
+                    '['.code -> {
+                        pos++
+                        listener.startArray()
+                        push(false)
+                        skipWhitespace()
+                        if (peek() != ']'.code) continue
+                        pos++
+                        depth--
+                        listener.endArray()
+                    }
+                    '-'.code, in DIGITS -> if (scanNumber()) listener.longValue(scannedLong) else listener.doubleValue(scannedDouble)
+                    else -> listener.value(readScalar())
+                }
+                expectValue = false
+            }
+            if (depth == 0) {
+                expectEnd()
+                return
+            }
+            skipWhitespace()
+            val c = next()
+            if (containers[depth - 1]) {
+                when (c) {
+                    ','.code -> {
+                        skipWhitespace()
+                        readKey(listener)
+                        expectValue = true
+                    }
+                    '}'.code -> {
+                        depth--
+                        listener.endObject()
+                    }
+                    else -> throw error("Expected ',' or '}'")
+                }
+            } else {
+                when (c) {
+                    ','.code -> expectValue = true
+                    ']'.code -> {
+                        depth--
+                        listener.endArray()
+                    }
+                    else -> throw error("Expected ',' or ']'")
+                }
+            }
+        }
+    }
+
+    private fun readKey(listener: JsonEventListener) {
+        if (peek() != '"'.code) throw error("Expected field name")
+        listener.key(readString())
+        skipWhitespace()
+        expect(':'.code)
+    }
+
+    private fun push(isObject: Boolean) {
+        if (depth == containers.size) containers = containers.copyOf(depth * 2)
+        containers[depth++] = isObject
+    }
+
+    companion object {
+        private val DIGITS = '0'.code..'9'.code
+    }
+}
+
+/**
+ * Constrói o [JValue] de um único valor a partir dos eventos que recebe, ignorando os campos fora da
+ * [projection]; [onDone] é chamado quando o valor termina.
+ */
+class JsonTreeBuilder(
+    private val projection: JProjection = JProjection.WHOLE,
+    private val onDone: (JValue) -> Unit
+) : JsonEventListener {
+    private class ObjectFrame(val projection: JProjection) {
+        val fields = mutableListOf<JField>()
+        var key = ""
+        var keyProjection = projection
+    }
+
+    private class ArrayFrame(val projection: JProjection) {
+        val elements = mutableListOf<JValue>()
+    }
+
+    private val stack = mutableListOf<Any>()
+    private var skipping = 0
+    private var skipNext = false
+    var done = false
+        private set
+
+    override fun startObject() {
+        if (!skipStart()) stack.add(ObjectFrame(childProjection()))
+    }
+
+    override fun key(name: String) {
+        if (skipping > 0) return
+        val frame = stack.last() as ObjectFrame
+        val field = frame.projection.field(name)
+        if (field == null) {
+            skipNext = true
+        } else {
+            frame.key = name
+            frame.keyProjection = field
+        }
+    }
+
+    override fun endObject() {
+        if (!skipEnd()) add(JObject((stack.removeLast() as ObjectFrame).fields))
+    }
+
+    override fun startArray() {
+        if (!skipStart()) stack.add(ArrayFrame(childProjection()))
+    }
+
+    override fun endArray() {
+        if (!skipEnd()) add(JArray(JColumnarRows.detect((stack.removeLast() as ArrayFrame).elements)))
+    }
+
+    override fun value(value: JValue) {
+        if (skipping > 0) return
+        if (skipNext) {
+            skipNext = false
+            return
+        }
+        add(value)
+    }
+
+    private fun childProjection(): JProjection = when (val top = stack.lastOrNull()) {
+        is ObjectFrame -> top.keyProjection
+        is ArrayFrame -> top.projection
+        else -> projection
+    }
+
+    private fun skipStart(): Boolean {
+        if (skipping > 0 || skipNext) {
+            skipNext = false
+            skipping++
+            return true
+        }
+        return false
+    }
+
+    private fun skipEnd(): Boolean {
+        if (skipping == 0) return false
+        skipping--
+        return true
+    }
+
+    private fun add(value: JValue) {
+        when (val top = stack.lastOrNull()) {
+            null -> {
+                done = true
+                onDone(value)
+            }
+            is ObjectFrame -> top.fields.add(JField(top.key, value))
+            is ArrayFrame -> top.elements.add(value)
+        }
+    }
+}
+
+/**
+ * Acumulador de um operador (`SUM`, `COUNT`, `MAX`, `MIN`, `AVG` ou um dos quantis) alimentado elemento a
+ * elemento, com o mesmo resultado que as funções `evaluate*` do [JIntepreter] dariam sobre o array completo.
+ * Enquanto só aparecem inteiros a soma, o máximo e o mínimo são exatos em `Long`; a partir do primeiro
+ * [JDouble] (ou de um overflow) a soma continua em `Double`, com a compensação de Neumaier para que o
+ * resultado não dependa da ordem em que as partes são somadas (ver [merge]).
+ */
+class JAccumulator(val operator: String) {
+    private var count = 0
+    private var numbers = 0
+    private var exact = true
+    private var longSum = 0L
+    private var longMax = 0L
+    private var longMin = 0L
+    private var integral = true
+    private var sum = 0.0
+    private var compensation = 0.0
+    private var max = 0.0
+    private var min = 0.0
+    // Só os operadores de quantis guardam os valores, num sketch de tamanho limitado.
+    private val quantiles = if (operator in JOperations.QUANTILE_OPERATORS) JQuantileSketch() else null
+
+    fun add(value: JValue) {
+        when (value) {
+            is JLong -> addLong(value.value)
+            is JDouble -> addDouble(value.value)
+            else -> count++
+        }
+    }
+
+    fun addLong(value: Long) {
+        count++
+        if (integral) {
+            longMax = if (numbers == 0) value else maxOf(longMax, value)
+            longMin = if (numbers == 0) value else minOf(longMin, value)
+        }
+        val d = value.toDouble()
+        quantiles?.add(d)
+        max = if (numbers == 0) d else maxOf(max, d)
+        min = if (numbers == 0) d else minOf(min, d)
+        if (exact) {
+            val result = longSum + value
+            // Overflow quando os dois operandos têm o mesmo sinal e o resultado o sinal contrário.
+            if ((longSum xor result) and (value xor result) < 0) {
+                exact = false
+                sum = longSum.toDouble()
+                addToSum(d)
+            } else {
+                longSum = result
+            }
+        } else {
+            addToSum(d)
+        }
+        numbers++
+    }
+
+    fun addDouble(value: Double) {
+        count++
+        integral = false
+        quantiles?.add(value)
+        max = if (numbers == 0) value else maxOf(max, value)
+        min = if (numbers == 0) value else minOf(min, value)
+        if (exact) {
+            exact = false
+            sum = longSum.toDouble()
+        }
+        addToSum(value)
+        numbers++
+    }
+
+    fun addNull() {
+        count++
+    }
+
+    /** Junta a este acumulador o de uma parte seguinte do mesmo array, acumulada em separado. */
+    fun merge(other: JAccumulator) {
+        count += other.count
+        if (other.numbers == 0) return
+        other.quantiles?.let { quantiles?.merge(it) }
+        if (numbers == 0) {
+            longMax = other.longMax
+            longMin = other.longMin
+            max = other.max
+            min = other.min
+        } else {
+            longMax = maxOf(longMax, other.longMax)
+            longMin = minOf(longMin, other.longMin)
+            max = maxOf(max, other.max)
+            min = minOf(min, other.min)
+        }
+        integral = integral && other.integral
+        if (exact && other.exact) {
+            val result = longSum + other.longSum
+            if ((longSum xor result) and (other.longSum xor result) < 0) {
+                exact = false
+                sum = longSum.toDouble()
+                addToSum(other.longSum.toDouble())
+            } else {
+                longSum = result
+            }
+        } else {
+            if (exact) {
+                exact = false
+                sum = longSum.toDouble()
+            }
+            if (other.exact) {
+                addToSum(other.longSum.toDouble())
+            } else {
+                addToSum(other.sum)
+                addToSum(other.compensation)
+            }
+        }
+        numbers += other.numbers
+    }
+
+    // Soma de Neumaier: compensation guarda os bits perdidos em cada adição.
+    private fun addToSum(value: Double) {
+        val total = sum + value
+        compensation += if (abs(sum) >= abs(value)) (sum - total) + value else (value - total) + sum
+        sum = total
+    }
+
+    // Com infinitos a compensação fica NaN e a soma simples é que está certa.
+    private fun doubleSum(): Double = if (compensation.isFinite()) sum + compensation else sum
+
+    fun result(operator: String = this.operator): JValue {
+        return when (operator) {
+            "SUM" -> if (exact) JLong(longSum) else JDouble(doubleSum())
+            "COUNT" -> JLong(count.toLong())
+            "MAX" -> if (numbers == 0) throw NoSuchElementException() else if (integral) JLong(longMax) else JDouble(max)
+            "MIN" -> if (numbers == 0) throw NoSuchElementException() else if (integral) JLong(longMin) else JDouble(min)
+            "AVG" -> JDouble(if (numbers == 0) Double.NaN else (if (exact) longSum.toDouble() else doubleSum()) / numbers)
+            in JOperations.QUANTILE_OPERATORS -> {
+                val sketch = quantiles ?: throw IllegalArgumentException("Unsupported operator: $operator")
+                if (numbers == 0) throw NoSuchElementException()
+                val value = sketch.quantile(JOperations.QUANTILE_OPERATORS.getValue(operator))
+                if (integral) JLong(value.toLong()) else JDouble(value)
+            }
+            else -> throw IllegalArgumentException("Unsupported operator: $operator")
+        }
+    }
+
+    companion object {
+        fun requiresArray(operator: String): String = when (operator) {
+            "COUNT" -> "COUNT operation requires an array of a value"
+            in JOperations.DISTINCT_OPERATORS -> "$operator operation requires an array"
+            else -> "$operator operation requires an array of numbers"
+        }
+
+        /**
+         * Agrega os elementos de um array, lendo as colunas numéricas diretamente dos arrays primitivos.
+         * Com [pool], os arrays grandes com acesso por posição são divididos por [JParallelAggregate].
+         */
+        fun aggregate(operator: String, elements: List<JValue>, pool: ForkJoinPool? = null): JValue {
+            if (elements !is RandomAccess) return JAccumulator(operator).apply { elements.forEach(::add) }.result()
+            val (accumulator) = JParallelAggregate.accumulate(pool, elements.size, 1, operator) { accumulators, from, to ->
+                when (elements) {
+                    is JNumericColumn -> elements.feed(accumulators[0], from, to)
+                    else -> for (i in from until to) accumulators[0].add(elements[i])
+                }
+            }
+            return accumulator.result()
+        }
+    }
+}
+
+/**
+ * Avalia, numa única passagem de eventos, as expressões `doc.a`, `doc.a.b` e `doc.a(.b) | OP`
+ * sobre o documento carregado, sem o materializar. Só os valores pedidos sem operador são
+ * construídos; os agregados são acumulados à medida que os valores passam, e os números chegam
+ * aos acumuladores sem nunca serem guardados num [JValue].
+ */
+class JStreamingEvaluator(
+    expressions: Collection<JExpression>,
+    private val projection: JProjection = JProjection.WHOLE
+) : JsonEventListener {
+    private enum class Kind { OBJECT, ARRAY, SCALAR }
+
+    private inner class Demand(val expression: JExpression, path: List<String>, operator: String?) {
+        val first = path[0]
+        val second = path.getOrNull(1)
+        val projection = path.take(2).fold(this@JStreamingEvaluator.projection) { p, name -> p.field(name) ?: JProjection.EMPTY }
+        val accumulator = operator?.let { JAccumulator(it) }
+        val values = mutableListOf<JValue>()
+        var captured: JValue? = null
+        var failure: Throwable? = null
+        var matched = false
+        var seenInElement = false
+    }
+
+    private val demands = expressions.map { expression ->
+        when (expression) {
+            is JPropertyAccess -> Demand(expression, expression.property, null)
+            is JOperationsAccess -> Demand(expression, (expression.value as JPropertyAccess).property, expression.operator)
+            else -> throw IllegalArgumentException("Expression $expression cannot be streamed")
+        }
+    }
+    private val byFirst = demands.groupBy { it.first }
+    private val builders = mutableListOf<JsonTreeBuilder>()
+    private var depth = 0
+    private var rootIsObject = false
+    private var fieldIsArray = false
+    private var elementIsObject = false
+    private var fieldDemands = emptyList<Demand>()
+    private var elementDemands = emptyList<Demand>()
+
+    // Valor do evento em curso: um número sem caixa ou um JValue, materializado só quando é guardado.
+    private var scalarType = VALUE
+    private var scalarLong = 0L
+    private var scalarDouble = 0.0
+    private var scalarValue: JValue? = null
+
+    fun results(): Map<JExpression, Result<JValue>> = demands.associate { it.expression to runCatching { result(it) } }
+
+    private fun result(demand: Demand): JValue {
+        demand.failure?.let { throw it }
+        if (!rootIsObject || !demand.matched) {
+            throw IllegalArgumentException("Property ${demand.second ?: demand.first} not found in object")
+        }
+        return when {
+            demand.accumulator != null -> demand.accumulator.result()
+            demand.second != null -> JArray(demand.values)
+            else -> demand.captured!!
+        }
+    }
+
+    override fun startObject() {
+        setScalar(CONTAINER)
+        begin(Kind.OBJECT) { it.startObject() }
+    }
+
+    override fun startArray() {
+        setScalar(CONTAINER)
+        begin(Kind.ARRAY) { it.startArray() }
+    }
+
+    override fun value(value: JValue) {
+        setScalar(value)
+        begin(Kind.SCALAR) { it.value(value) }
+    }
+
+    override fun longValue(value: Long) {
+        scalarType = LONG
+        scalarLong = value
+        scalarValue = null
+        begin(Kind.SCALAR) { it.value(scalar()) }
+    }
+
+    override fun doubleValue(value: Double) {
+        scalarType = DOUBLE
+        scalarDouble = value
+        scalarValue = null
+        begin(Kind.SCALAR) { it.value(scalar()) }
+    }
+
+    private fun setScalar(value: JValue) {
+        scalarType = VALUE
+        scalarValue = value
+    }
+
+    private fun scalar(): JValue = scalarValue ?: when (scalarType) {
+        LONG -> JLong(scalarLong)
+        else -> JDouble(scalarDouble)
+    }.also { scalarValue = it }
+
+    private fun feed(accumulator: JAccumulator) {
+        when (scalarType) {
+            LONG -> accumulator.addLong(scalarLong)
+            DOUBLE -> accumulator.addDouble(scalarDouble)
+            else -> accumulator.add(scalarValue!!)
+        }
+    }
+
+    override fun endObject() = end { it.endObject() }
+
+    override fun endArray() = end { it.endArray() }
+
+    override fun key(name: String) {
+        builders.forEach { it.key(name) }
+        if (depth == 1 && rootIsObject) {
+            fieldDemands = byFirst[name]?.filter { !it.matched }.orEmpty()
+            fieldDemands.forEach { it.matched = true }
+        } else if (depth == 3 && elementIsObject && fieldDemands.isNotEmpty()) {
+            elementDemands = fieldDemands.filter { it.second == name && !it.seenInElement }
+            elementDemands.forEach { it.seenInElement = true }
+        }
+    }
+
+    private inline fun begin(kind: Kind, forward: (JsonEventListener) -> Unit) {
+        val existing = builders.size
+        when (depth) {
+            0 -> rootIsObject = kind == Kind.OBJECT
+            1 -> if (rootIsObject) startField(kind, forward)
+            2 -> if (fieldIsArray) startElement(kind)
+            3 -> if (elementIsObject) startElementField(forward)
+        }
+        for (i in 0 until existing) forward(builders[i])
+        builders.removeAll { it.done }
+        if (kind == Kind.SCALAR) afterValue() else depth++
+    }
+
+    private inline fun startField(kind: Kind, forward: (JsonEventListener) -> Unit) {
+        fieldIsArray = kind == Kind.ARRAY
+        for (demand in fieldDemands) {
+            when {
+                demand.second == null && demand.accumulator == null -> capture(forward, demand.projection) { demand.captured = it }
+                fieldIsArray -> Unit
+                demand.second == null -> demand.failure = IllegalArgumentException(JAccumulator.requiresArray(demand.accumulator!!.operator))
+                else -> demand.failure = IllegalArgumentException("Property ${demand.second} not found in object")
+            }
+        }
+    }
+
+    private fun startElement(kind: Kind) {
+        elementIsObject = kind == Kind.OBJECT
+        for (demand in fieldDemands) {
+            demand.seenInElement = false
+            if (demand.second == null) demand.accumulator?.let(::feed)
+        }
+    }
+
+    private inline fun startElementField(forward: (JsonEventListener) -> Unit) {
+        for (demand in elementDemands) {
+            if (demand.accumulator != null) {
+                feed(demand.accumulator)
+            } else {
+                capture(forward, demand.projection) { demand.values.add(it) }
+            }
+        }
+        elementDemands = emptyList()
+    }
+
+    private inline fun capture(forward: (JsonEventListener) -> Unit, projection: JProjection, noinline onDone: (JValue) -> Unit) {
+        val builder = JsonTreeBuilder(projection, onDone)
+        forward(builder)
+        if (!builder.done) builders.add(builder)
+    }
+
+    private inline fun end(forward: (JsonEventListener) -> Unit) {
+        builders.forEach(forward)
+        builders.removeAll { it.done }
+        depth--
+        afterValue()
+    }
+
+    private fun afterValue() {
+        when (depth) {
+            1 -> {
+                fieldDemands = emptyList()
+                fieldIsArray = false
+            }
+            2 -> elementIsObject = false
+        }
+    }
+
+    companion object {
+        // Elemento que não é escalar: conta para COUNT mas não para os agregados numéricos.
+        private val CONTAINER: JValue = JNull
+
+        private const val VALUE = 0
+        private const val LONG = 1
+        private const val DOUBLE = 2
+    }
+}
@@ -1,59 +1,85 @@
 package projeto
 
-import org.antlr.v4.runtime.CharStreams
-import org.antlr.v4.runtime.CommonTokenStream
 import java.io.File
+import java.io.OutputStream
 
-data class JScript(val instructions: List<JInstruction>) {
+/**
+ * @property lines linha de cada instrução no script original, usada nos erros; só difere das posições
+ * quando o script foi transformado (ver [JOptimizer]).
+ */
+data class JScript(val instructions: List<JInstruction>, val lines: List<Int> = List(instructions.size) { it + 1 }) {
     val errorsList = mutableListOf<JError>()
 
+    /**
+     * Análise semântica do script numa única passagem: variáveis usadas antes de definidas (incluindo as
+     * referidas nos objetos literais), operadores com o número de argumentos errado e caminhos com mais de
+     * dois níveis. Devolve os diagnósticos sem os juntar a [errorsList].
+     */
     fun validate(): List<JError> {
-        val definedVariables = mutableSetOf<String>()
+        val diagnostics = mutableListOf<JError>()
+        val definedVariables = HashSet<String>()
         instructions.forEachIndexed { index, instruction ->
+            val line = lines[index]
             when (instruction) {
                 is JAssign -> {
-                    val usedVariables = getUsedVariables(instruction.expression)
-                    usedVariables.forEach { variable ->
-                        if (variable !in definedVariables) {
-                            errorsList.add(JVarError(variable, index + 1))
-                        }
-                    }
-
+                    validateExpression(instruction.expression, line, definedVariables, diagnostics)
                     definedVariables.add(instruction.varId)
-
-                    if (instruction.expression is JOperationsAccess) {
-                        val operationAccess = instruction.expression
-                        val expectedArgsCount = getExpectedArgsCount(operationAccess.operator)
-                        val actualArgsCount = countArguments(operationAccess.value)
-                        if (expectedArgsCount != actualArgsCount) {
-                            errorsList.add(JArgsError(operationAccess.operator, index + 1, expectedArgsCount, actualArgsCount))
-                        }
-                    }
-                }
-                is JLoad -> {
-                    definedVariables.add(instruction.id)
                 }
-                else -> Unit
+                is JLoad -> definedVariables.add(instruction.id)
+                is JSave -> if (instruction.id !in definedVariables) diagnostics.add(JVarError(instruction.id, line))
+            }
+        }
+        return diagnostics
+    }
+
+    private fun validateExpression(expression: JExpression, line: Int, definedVariables: Set<String>, diagnostics: MutableList<JError>) {
+        JScriptAnalysis.referencedVariables(expression).forEach { variable ->
+            if (variable !in definedVariables) diagnostics.add(JVarError(variable, line))
+        }
+        validateCounts(expression, line, diagnostics)
+        validateFilters(expression, line, diagnostics)
+        if (expression is JOperationsAccess) {
+            val expectedArgsCount = getExpectedArgsCount(expression.operator)
+            val actualArgsCount = countArguments(expression.value)
+            if (expectedArgsCount != actualArgsCount) {
+                diagnostics.add(JArgsError(expression.operator, line, expectedArgsCount, actualArgsCount))
+            }
+        }
+    }
+
+    // `TOP n` com n que não é um inteiro positivo, aqui ou nos lados de um join.
+    private fun validateCounts(expression: JExpression, line: Int, diagnostics: MutableList<JError>) {
+        when (expression) {
+            is JSortAccess -> if (expression.limit != null && expression.limit < 1) diagnostics.add(JCountError("TOP", line))
+            is JJoin -> {
+                validateCounts(expression.left, line, diagnostics)
+                validateCounts(expression.right, line, diagnostics)
             }
+            else -> Unit
         }
-        return errorsList
     }
 
-    private fun getUsedVariables(expression: JExpression): Set<String> {
-        val variables = mutableSetOf<String>()
+    // Os filtros comparam com literais: uma variável na comparação, aqui ou nos lados de um join, é um erro.
+    private fun validateFilters(expression: JExpression, line: Int, diagnostics: MutableList<JError>) {
         when (expression) {
-            is JVariable -> variables.add(expression.name)
-            is JValueExpression -> Unit
-            is JPropertyAccess -> variables.add(expression.base)
-            is JOperationsAccess -> variables.addAll(getUsedVariables(expression.value))
+            is JPropertyAccess -> expression.filters.values.forEach { predicate ->
+                predicate.comparisons.forEach { comparison ->
+                    (comparison.value as? JVariable)?.let { diagnostics.add(JFilterError(it.name, line)) }
+                }
+            }
+            is JOperationsAccess -> validateFilters(expression.value, line, diagnostics)
+            is JSortAccess -> validateFilters(expression.value, line, diagnostics)
+            is JJoin -> {
+                validateFilters(expression.left, line, diagnostics)
+                validateFilters(expression.right, line, diagnostics)
+            }
             else -> Unit
         }
-        return variables
     }
 
     private fun getExpectedArgsCount(operator: String): Int {
         return when (operator) {
-            "SUM", "MAX", "MIN", "COUNT", "AVG" -> 1
+            "SUM", "MAX", "MIN", "COUNT", "AVG", "DISTINCT", "APPROX_DISTINCT", "MEDIAN", "P50", "P90", "P95", "P99" -> 1
             else -> 0
         }
     }
@@ -69,8 +95,18 @@ data class JScript(val instructions: List<JInstruction>) {
 
 sealed interface JValue {
     fun prettyString(indent: String = "", level: Int = 0): String
+
+    // Escreve o mesmo texto que prettyString, sem construir a string completa em memória.
+    fun writeTo(out: OutputStream, indent: String = "", level: Int = 0) = out.write(prettyString(indent, level).toByteArray())
 }
 
+fun JValue.resolve(): JValue = if (this is JLazyValue) value else this
+
+// Igualdade e hash dos elementos de [JArray] e [JField]: os [JLazyValue] são lidos dos dois lados antes de comparar.
+internal fun sameValue(a: JValue, b: JValue): Boolean = a.resolve() == b.resolve()
+
+internal fun valueHash(value: JValue): Int = value.resolve().hashCode()
+
 sealed interface JInstruction {
     fun prettyStringInstruction(indent: String = "", level: Int = 0): String
 }
@@ -80,6 +116,14 @@ sealed interface JExpression {
 }
 
 data class JArray(val elements: List<JValue>) : JValue, JExpression {
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (other !is JArray || elements.size != other.elements.size) return false
+        return elements.indices.all { sameValue(elements[it], other.elements[it]) }
+    }
+
+    override fun hashCode(): Int = elements.fold(1) { hash, element -> 31 * hash + valueHash(element) }
+
     override fun toString(): String = prettyString()
 
     override fun prettyString(indent: String, level: Int): String {
@@ -87,10 +131,49 @@ data class JArray(val elements: List<JValue>) : JValue, JExpression {
         return "[\n${indent.repeat(level + 1)}$indentedElements\n${indent.repeat(level)}]"
     }
 
+    override fun writeTo(out: OutputStream, indent: String, level: Int) {
+        out.write("[\n${indent.repeat(level + 1)}".toByteArray())
+        elements.forEachIndexed { i, element ->
+            if (i > 0) out.write(",\n${indent.repeat(level + 1)}".toByteArray())
+            element.writeTo(out, indent, level + 1)
+        }
+        out.write("\n${indent.repeat(level)}]".toByteArray())
+    }
+
     override fun prettyStringExpression(indent: String, level: Int): String = prettyString(indent, level)
 }
 
-data class JNumber(val value: Number) : JValue {
+/**
+ * Número JSON: [JLong] para inteiros e [JDouble] para os restantes, sem `Number` em caixa.
+ * A igualdade é numérica, por isso `JLong(6) == JDouble(6.0)`.
+ */
+sealed interface JNumber : JValue {
+    val value: Number
+
+    fun toDouble(): Double
+}
+
+fun JNumber(value: Number): JNumber = when (value) {
+    is Long, is Int, is Short, is Byte -> JLong(value.toLong())
+    else -> JDouble(value.toDouble())
+}
+
+class JLong(override val value: Long) : JNumber {
+    override fun toDouble(): Double = value.toDouble()
+    override fun equals(other: Any?): Boolean = when (other) {
+        is JLong -> value == other.value
+        is JDouble -> other.equals(this)
+        else -> false
+    }
+    override fun hashCode(): Int = value.toDouble().hashCode()
+    override fun toString(): String = prettyString()
+    override fun prettyString(indent: String, level: Int): String = value.toString()
+}
+
+class JDouble(override val value: Double) : JNumber {
+    override fun toDouble(): Double = value
+    override fun equals(other: Any?): Boolean = other is JNumber && value.compareTo(other.toDouble()) == 0
+    override fun hashCode(): Int = value.hashCode()
     override fun toString(): String = prettyString()
     override fun prettyString(indent: String, level: Int): String = value.toString()
 }
@@ -106,19 +189,74 @@ object JNull : JValue {
 }
 
 data class JObject(val fields: List<JField>) : JValue {
+    // Índice nome -> posição do primeiro campo com esse nome, construído no primeiro acesso a objetos grandes.
+    @Volatile
+    private var index: HashMap<String, Int>? = null
+
+    operator fun get(name: String): JValue? {
+        if (fields.size <= INDEX_THRESHOLD) {
+            for (field in fields) {
+                if (field.name == name) return field.value
+            }
+            return null
+        }
+        val positions = index ?: HashMap<String, Int>(fields.size * 2).also { map ->
+            fields.forEachIndexed { i, field -> map.putIfAbsent(field.name, i) }
+            index = map
+        }
+        return positions[name]?.let { fields[it].value }
+    }
+
     override fun toString(): String = prettyString()
 
     override fun prettyString(indent: String, level: Int): String {
         val indentedFields = fields.joinToString(",\n${indent.repeat(level + 1)}") { it.prettyString(indent, level + 1) }
         return "{\n${indent.repeat(level + 1)}$indentedFields\n${indent.repeat(level)}}"
     }
+
+    override fun writeTo(out: OutputStream, indent: String, level: Int) {
+        out.write("{\n${indent.repeat(level + 1)}".toByteArray())
+        fields.forEachIndexed { i, field ->
+            if (i > 0) out.write(",\n${indent.repeat(level + 1)}".toByteArray())
+            out.write("\"${field.name}\": ".toByteArray())
+            field.value.writeTo(out, indent, level + 1)
+        }
+        out.write("\n${indent.repeat(level)}}".toByteArray())
+    }
+
+    companion object {
+        private const val INDEX_THRESHOLD = 8
+    }
 }
 
 data class JField(val name: String, val value: JValue) {
+    override fun equals(other: Any?): Boolean = other is JField && name == other.name && sameValue(value, other.value)
+    override fun hashCode(): Int = 31 * name.hashCode() + valueHash(value)
     override fun toString(): String = prettyString()
     fun prettyString(indent: String = "", level: Int = 0): String = "\"$name\": ${value.prettyString(indent, level)}"
 }
 
+/**
+ * Subárvore ainda por ler: guarda só os limites em bytes no [input] e é lida na primeira vez que [value]
+ * é pedido. Enquanto não for acedida, [writeTo] copia os bytes originais sem os interpretar.
+ *
+ * A igualdade é por identidade, para não ler a subárvore nem depender do lado da comparação: quem compara
+ * valores chama [resolve] primeiro. [JArray] e [JField] já o fazem para os seus elementos.
+ */
+class JLazyValue(private val input: JsonInput, val start: Long, val end: Long, private val projection: JProjection) : JValue {
+    private val parsed = lazy { JsonReader(input, projection, start = start, end = end).read() }
+    val value: JValue by parsed
+
+    override fun toString(): String = prettyString()
+
+    override fun prettyString(indent: String, level: Int): String =
+        if (parsed.isInitialized()) value.prettyString(indent, level) else input.string(start, end)
+
+    override fun writeTo(out: OutputStream, indent: String, level: Int) {
+        if (parsed.isInitialized()) value.writeTo(out, indent, level) else input.copyTo(start, end, out)
+    }
+}
+
 data class JBoolean(val value: Boolean) : JValue {
     override fun toString(): String = prettyString()
     override fun prettyString(indent: String, level: Int): String = value.toString()
@@ -137,6 +275,14 @@ data class JArgsError(val operator: String, override val line: Int, val expected
     override fun prettyString(): String = "$message: expected $expected, found $actual at line $line;"
 }
 
+data class JCountError(val operator: String, override val line: Int) : JError("$operator requires a positive integer count", line) {
+    override fun prettyString(): String = super.prettyString()
+}
+
+data class JFilterError(val value: String, override val line: Int) : JError("Filters compare with literals, found: $value", line) {
+    override fun prettyString(): String = super.prettyString()
+}
+
 data class JExecutionError(override val message: String, override val line: Int) : JError(message, line) {
     override fun prettyString(): String = super.prettyString()
 }
@@ -147,13 +293,20 @@ data class JLoad(val ficheiro: String, val id: String) : JInstruction {
     override fun toString(): String = prettyStringInstruction()
     override fun prettyStringInstruction(indent: String, level: Int): String = "JLoad(ficheiro=\"$ficheiro\", id=\"$id\")"
 
-    fun run(ficheiroNomeReal: String): JValue {
-        val lexer = JSONLexer(CharStreams.fromFileName(ficheiroNomeReal))
-        val parser = JSONParser(CommonTokenStream(lexer))
-        val v = parser.value()
-
+    fun run(ficheiroNomeReal: String, projection: JProjection = JProjection.WHOLE, lazy: Boolean = false): JValue {
         // println("O $ficheiroNomeReal foi carregado para $id")
-        return v.toAST()
+        return JsonReader.parse(File(ficheiroNomeReal), projection, lazy)
+    }
+
+    fun stream(ficheiroNomeReal: String, expressions: Collection<JExpression>, projection: JProjection = JProjection.WHOLE): Map<JExpression, Result<JValue>> {
+        val evaluator = JStreamingEvaluator(expressions, projection)
+        JsonEventReader(JsonInput.open(File(ficheiroNomeReal))).read(evaluator)
+        return evaluator.results()
+    }
+
+    companion object {
+        // Acima deste tamanho (em bytes) o ficheiro é mapeado em memória em vez de lido para o heap
+        var mmapThreshold: Long = System.getProperty("jql.mmap.threshold")?.toLongOrNull() ?: (64L shl 20)
     }
 }
 
@@ -162,14 +315,13 @@ data class JSave(val ficheiro: String, val id: String) : JInstruction {
     override fun prettyStringInstruction(indent: String, level: Int): String = "JSave(ficheiro=\"$ficheiro\", id=\"$id\")"
 
     fun run(objeto: JValue, fileName: String): JValue {
-        val content = objeto.toString()
         val file = File(fileName)
-        file.bufferedWriter().use { out ->
-            out.write(content)
+        file.outputStream().buffered().use { out ->
+            objeto.writeTo(out)
         }
         // println("$id foi guardado para o ficheiro '$fileName'")
         println("Arquivo foi gerado")
-        return JString(content)
+        return objeto
     }
 }
 
@@ -189,16 +341,97 @@ data class JValueExpression(val value: JValue) : JExpression {
     override fun prettyStringExpression(indent: String, level: Int): String = value.prettyString(indent, level)
 }
 
-data class JPropertyAccess(val base: String, val property: List<String>) : JExpression {
+/**
+ * Caminho `base.a.b`. [filters] guarda os filtros do caminho pelo número de nomes já percorridos:
+ * em `doc.ucs[creditos > 5].horas` o filtro fica na posição 1, aplicado aos elementos de `doc.ucs`.
+ */
+data class JPropertyAccess(val base: String, val property: List<String>, val filters: Map<Int, JPredicate> = emptyMap()) : JExpression {
     override fun toString(): String = prettyStringExpression()
-    override fun prettyStringExpression(indent: String, level: Int): String = if (property.isEmpty()) {
-        base
-    } else {
-        "${base}.${property.joinToString(".")}"
+    override fun prettyStringExpression(indent: String, level: Int): String {
+        if (filters.isEmpty()) return if (property.isEmpty()) base else "${base}.${property.joinToString(".")}"
+        val text = StringBuilder(base)
+        filters[0]?.let { text.append(it) }
+        property.forEachIndexed { k, name ->
+            text.append('.').append(name)
+            filters[k + 1]?.let { text.append(it) }
+        }
+        return text.toString()
     }
 }
 
-data class JOperationsAccess(val value: JExpression, val operator: String) : JExpression {
+/** Filtro `[campo > 5 and outro == "x"]`: um valor passa se for um objeto e todas as comparações forem verdadeiras. */
+data class JPredicate(val comparisons: List<JComparison>) {
+    override fun toString(): String = comparisons.joinToString(" and ", "[", "]")
+
+    val fields: Set<String> get() = comparisons.mapTo(LinkedHashSet()) { it.field }
+
+    fun test(value: JValue): Boolean = value is JObject && comparisons.all { it.test(value[it.field]?.resolve()) }
+}
+
+/**
+ * `field operator value`, com [operator] um de `==`, `!=`, `>`, `>=`, `<`, `<=`. Números comparam-se pelo valor
+ * e strings pela ordem lexicográfica; os restantes valores só são iguais a si próprios. Um campo em falta, ou
+ * de tipos que não se ordenam, só satisfaz `!=`.
+ */
+data class JComparison(val field: String, val operator: String, val value: JValue) {
+    override fun toString(): String = "$field $operator ${value.prettyString()}"
+
+    fun test(actual: JValue?): Boolean {
+        val order = actual?.let { compare(it) }
+        return when (operator) {
+            "==" -> order == 0
+            "!=" -> order != 0
+            ">" -> order != null && order > 0
+            ">=" -> order != null && order >= 0
+            "<" -> order != null && order < 0
+            "<=" -> order != null && order <= 0
+            else -> throw IllegalArgumentException("Unsupported comparison: $operator")
+        }
+    }
+
+    private fun compare(actual: JValue): Int? = when {
+        actual is JLong && value is JLong -> actual.value.compareTo(value.value)
+        actual is JNumber && value is JNumber -> actual.toDouble().compareTo(value.toDouble())
+        actual is JString && value is JString -> actual.value.compareTo(value.value)
+        else -> if (actual == value) 0 else null
+    }
+}
+
+/**
+ * `value | operator`. Com [groupBy], `doc.ucs.creditos | SUM BY area` dá um objeto com o resultado do operador
+ * para cada valor de `area`, lido do mesmo objeto que `creditos`; `doc.ucs | COUNT BY area` lê-o de cada
+ * elemento (ver [JPathPlan.group]).
+ */
+data class JOperationsAccess(val value: JExpression, val operator: String, val groupBy: String? = null) : JExpression {
+    override fun toString(): String = prettyStringExpression()
+    override fun prettyStringExpression(indent: String, level: Int): String =
+        "${value.prettyStringExpression(indent, level)} | $operator" + (groupBy?.let { " BY $it" } ?: "")
+}
+
+/**
+ * `value | SORT BY campo`, por ordem crescente ou, com `DESC`, decrescente, e `value | TOP n BY campo`, os [limit]
+ * elementos com maior `campo`, do maior para o menor. Sem [by] os elementos são ordenados por si próprios
+ * (ver [JSort]).
+ */
+data class JSortAccess(val value: JExpression, val by: String? = null, val limit: Int? = null, val descending: Boolean = limit != null) : JExpression {
+    override fun toString(): String = prettyStringExpression()
+    override fun prettyStringExpression(indent: String, level: Int): String {
+        val by = by?.let { " BY $it" } ?: ""
+        val operator = when {
+            limit != null -> "TOP $limit$by"
+            descending -> "SORT$by DESC"
+            else -> "SORT$by"
+        }
+        return "${value.prettyStringExpression(indent, level)} | $operator"
+    }
+}
+
+/**
+ * `join left, right on leftKey = rightKey`: os pares de objetos de [left] e [right] com chaves iguais, cada um
+ * juntado num só objeto (ver [JHashJoin]).
+ */
+data class JJoin(val left: JExpression, val right: JExpression, val leftKey: String, val rightKey: String) : JExpression {
     override fun toString(): String = prettyStringExpression()
-    override fun prettyStringExpression(indent: String, level: Int): String = "${value.prettyStringExpression(indent, level)} | $operator"
-}
\ No newline at end of file
+    override fun prettyStringExpression(indent: String, level: Int): String =
+        "join ${left.prettyStringExpression(indent, level)}, ${right.prettyStringExpression(indent, level)} on $leftKey = $rightKey"
+}
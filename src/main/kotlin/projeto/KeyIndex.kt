@@ -0,0 +1,116 @@
+package projeto
+
+/**
+ * Numeração das chaves distintas pela ordem em que aparecem: endereçamento aberto com sondagem linear sobre
+ * `slots` (o número de cada chave) e os hashes guardados ao lado, com carga máxima de 1/2 para que as sondagens
+ * continuem curtas mesmo com muitas chaves diferentes. Usada por [JGroupTable], [JDistinct] e [JHashJoin].
+ */
+internal class JKeyIndex<K : Any> {
+    private var slots = IntArray(INITIAL_SLOTS) { EMPTY }
+    private var hashes = IntArray(INITIAL_SLOTS)
+    val keys = ArrayList<K>()
+
+    val size: Int get() = keys.size
+
+    /** Número de [key], acrescentada no fim se ainda não existir. */
+    fun add(key: K): Int {
+        val hash = hash(key)
+        val slot = find(key, hash)
+        if (slots[slot] != EMPTY) return slots[slot]
+        val index = keys.size
+        keys.add(key)
+        slots[slot] = index
+        hashes[slot] = hash
+        if (keys.size * 2 > slots.size) rehash()
+        return index
+    }
+
+    /** Número de [key], ou -1 se não existir. */
+    fun indexOf(key: K): Int = slots[find(key, hash(key))]
+
+    // Hashes seguidos (como os de "UC1", "UC2", ...) ficariam em posições seguidas e a sondagem linear juntá-los-ia
+    // em longas sequências ocupadas; a multiplicação espalha-os pela tabela.
+    private fun hash(key: K): Int = (key.hashCode() * -0x61c88647).let { it xor (it ushr 16) }
+
+    // Posição de key na tabela, ou a posição livre onde seria acrescentada.
+    private fun find(key: K, hash: Int): Int {
+        val mask = slots.size - 1
+        var slot = hash and mask
+        while (true) {
+            val index = slots[slot]
+            if (index == EMPTY || hashes[slot] == hash && keys[index] == key) return slot
+            slot = (slot + 1) and mask
+        }
+    }
+
+    private fun rehash() {
+        val oldSlots = slots
+        val oldHashes = hashes
+        slots = IntArray(oldSlots.size * 2) { EMPTY }
+        hashes = IntArray(slots.size)
+        val mask = slots.size - 1
+        for (i in oldSlots.indices) {
+            val index = oldSlots[i]
+            if (index == EMPTY) continue
+            var slot = oldHashes[i] and mask
+            while (slots[slot] != EMPTY) slot = (slot + 1) and mask
+            slots[slot] = index
+            hashes[slot] = oldHashes[i]
+        }
+    }
+
+    private companion object {
+        const val EMPTY = -1
+        const val INITIAL_SLOTS = 16
+    }
+}
+
+/**
+ * Conjunto de longs por endereçamento aberto, sem caixas: as posições livres são marcadas à parte em [used],
+ * por isso qualquer valor, incluindo 0, pode ser guardado.
+ */
+internal class JLongSet {
+    private var values = LongArray(INITIAL_SLOTS)
+    private var used = BooleanArray(INITIAL_SLOTS)
+    var size = 0
+        private set
+
+    /** Verdadeiro se [value] ainda não estava no conjunto. */
+    fun add(value: Long): Boolean {
+        val mask = values.size - 1
+        var slot = mix(value) and mask
+        while (used[slot]) {
+            if (values[slot] == value) return false
+            slot = (slot + 1) and mask
+        }
+        values[slot] = value
+        used[slot] = true
+        if (++size * 2 > values.size) rehash()
+        return true
+    }
+
+    private fun rehash() {
+        val oldValues = values
+        val oldUsed = used
+        values = LongArray(oldValues.size * 2)
+        used = BooleanArray(values.size)
+        val mask = values.size - 1
+        for (i in oldValues.indices) {
+            if (!oldUsed[i]) continue
+            var slot = mix(oldValues[i]) and mask
+            while (used[slot]) slot = (slot + 1) and mask
+            values[slot] = oldValues[i]
+            used[slot] = true
+        }
+    }
+
+    private companion object {
+        const val INITIAL_SLOTS = 16
+
+        // Os bits baixos de longs sequenciais ficariam todos seguidos; a multiplicação espalha-os pela tabela.
+        fun mix(value: Long): Int {
+            val h = value * -0x61c8864680b583ebL
+            return (h xor (h ushr 32)).toInt()
+        }
+    }
+}
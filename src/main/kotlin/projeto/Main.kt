@@ -2,14 +2,54 @@ package projeto
 
 import org.antlr.v4.runtime.CharStreams
 import org.antlr.v4.runtime.CommonTokenStream
+import java.io.File
+import java.util.concurrent.ForkJoinPool
 
-fun main(args: Array<String>) {
+// Uso: [--backend=interpreter|closures|bytecode] [--parallelism=N] [--report-removed] script.jql [$1 $2 ...]
+// ou, com um job por linha do manifesto: [--backend=...] --batch=manifesto [--jobs=N] script.jql
+fun main(arguments: Array<String>) {
+    val flags = arguments.filter { it.startsWith("--") }.associate { it.removePrefix("--").substringBefore("=") to it.substringAfter("=") }
+    val backend = flags["backend"] ?: "interpreter"
+    val parallelism = flags["parallelism"]?.toIntOrNull() ?: 1
+    val args = arguments.filterNot { it.startsWith("--") }
     val lexer = JSONLexer(CharStreams.fromFileName(args[0]))
     val parser = JSONParser(CommonTokenStream(lexer))
     val script = parser.script()
 
     //println(script.toAst())
 
-    val intepreter = JIntepreter(script.toAst())
-    intepreter.run(args.drop(1))
-}
\ No newline at end of file
+    val ast = script.toAst()
+    val diagnostics = ast.validate()
+    if (diagnostics.isNotEmpty()) {
+        diagnostics.forEach { println(it) }
+        return
+    }
+
+    // Só os ficheiros guardados são visíveis a partir da linha de comandos
+    val optimized = JOptimizer.eliminateDeadCode(JOptimizer.inlinePathAliases(ast)) { line, instruction ->
+        if ("report-removed" in flags) println("Removed line $line: $instruction")
+    }
+    val compiled = when (backend) {
+        "interpreter" -> null
+        "closures" -> JBackend.CLOSURES
+        "bytecode" -> JBackend.BYTECODE
+        else -> {
+            println("Unknown backend: $backend")
+            return
+        }
+    }
+    val manifest = flags["batch"]
+    if (manifest == null) {
+        JBatch.job(optimized, JOptions(fullMemory = false, parallelism = parallelism), compiled)(args.drop(1))
+        return
+    }
+    // Os jobs com parallelism > 1 partilham um só pool, em vez de cada um criar o seu.
+    val pool = if (parallelism > 1) ForkJoinPool(parallelism) else null
+    try {
+        val job = JBatch.job(optimized, JOptions(fullMemory = false, parallelism = parallelism, pool = pool), compiled)
+        val threads = flags["jobs"]?.toIntOrNull() ?: Runtime.getRuntime().availableProcessors()
+        println(JBatch(threads, JBatch.inputs(optimized), job).run(JBatch.manifest(File(manifest))))
+    } finally {
+        pool?.shutdown()
+    }
+}
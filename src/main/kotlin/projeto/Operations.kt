@@ -0,0 +1,120 @@
+package projeto
+
+import java.util.concurrent.ForkJoinPool
+
+/**
+ * Operações da linguagem sobre valores já avaliados, partilhadas pelo [JIntepreter] e pelo [JCompiler].
+ * Os erros são [IllegalArgumentException] com as mensagens que o interpretador sempre mostrou.
+ */
+object JOperations {
+
+    /** `base.name` */
+    fun property(base: JValue, name: String): JValue {
+        return (base as? JObject)?.get(name)?.resolve() ?: throw notFound(name)
+    }
+
+    /** `base.first.second`: `first` tem de ser um array e de cada objeto é tirado o campo `second`. */
+    fun path(base: JValue, first: String, second: String): JValue {
+        if (base !is JObject) throw notFound(first)
+        val result = base[first]?.resolve() as? JArray ?: throw notFound(second)
+        val rows = result.elements
+        if (rows is JColumnarRows) return JArray(rows.column(second) ?: emptyList())
+        return JArray(rows.mapNotNull { (it as? JObject)?.get(second) })
+    }
+
+    /**
+     * `base.first.name` para cada nome de [names], numa única passagem pelo array `base.first`.
+     * Os erros são os mesmos de [path].
+     */
+    fun paths(base: JValue, first: String, names: List<String>): List<JArray> {
+        if (base !is JObject) throw notFound(first)
+        val result = base[first]?.resolve() as? JArray ?: throw notFound(names.first())
+        return project(result, names)
+    }
+
+    fun project(array: JArray, names: List<String>): List<JArray> {
+        val rows = array.elements
+        if (rows is JColumnarRows) return names.map { JArray(rows.column(it) ?: emptyList()) }
+        val values = names.map { ArrayList<JValue>() }
+        for (row in rows) {
+            if (row !is JObject) continue
+            for (k in names.indices) {
+                row[names[k]]?.let { values[k].add(it) }
+            }
+        }
+        return values.map { JArray(it) }
+    }
+
+    /**
+     * Acumula `base.first.name` para cada nome de [names] numa única passagem, sem construir os arrays
+     * intermédios; cada [JAccumulator] responde a todos os operadores sobre esse campo. Com [pool], os arrays
+     * grandes são divididos por [JParallelAggregate].
+     */
+    fun accumulate(base: JValue, first: String, names: List<String>, pool: ForkJoinPool? = null): List<JAccumulator> {
+        if (base !is JObject) throw notFound(first)
+        val result = base[first]?.resolve() as? JArray ?: throw notFound(names.first())
+        val rows = result.elements
+        val columns = (rows as? JColumnarRows)?.let { columnar -> names.map { columnar.column(it) } }
+        // O operador de cada acumulador é escolhido depois, em JAccumulator.result.
+        return JParallelAggregate.accumulate(pool.takeIf { rows is RandomAccess }, rows.size, names.size) { accumulators, from, to ->
+            if (columns != null) {
+                for (k in names.indices) {
+                    when (val column = columns[k]) {
+                        null -> Unit
+                        is JNumericColumn -> column.feed(accumulators[k], from, to)
+                        else -> for (i in from until to) accumulators[k].add(column[i])
+                    }
+                }
+            } else {
+                for (row in if (from == 0 && to == rows.size) rows else rows.subList(from, to)) {
+                    if (row !is JObject) continue
+                    for (k in names.indices) {
+                        row[names[k]]?.let { accumulators[k].add(it) }
+                    }
+                }
+            }
+        }
+    }
+
+    fun aggregate(operator: String, value: JValue, pool: ForkJoinPool? = null): JValue {
+        if (operator !in ACCUMULATED_OPERATORS && operator !in DISTINCT_OPERATORS) throw IllegalArgumentException("Unsupported operator: $operator")
+        if (value !is JArray) throw IllegalArgumentException(JAccumulator.requiresArray(operator))
+        return when (operator) {
+            "COUNT" -> JLong(value.elements.size.toLong())
+            "DISTINCT" -> JArray(JDistinct.distinct(value.elements))
+            "APPROX_DISTINCT" -> JLong(JDistinct.approximateCount(value.elements, pool))
+            else -> JAccumulator.aggregate(operator, value.elements, pool)
+        }
+    }
+
+    /** `value | SORT ...` e `value | TOP ...` (ver [JSortAccess]). */
+    fun sort(value: JValue, sort: JSortAccess): JValue {
+        val operator = if (sort.limit == null) "SORT" else "TOP"
+        if (value !is JArray) throw IllegalArgumentException("$operator operation requires an array")
+        val elements = value.elements
+        return JArray(if (sort.limit == null) JSort.sort(elements, sort.by, sort.descending) else JSort.top(elements, sort.by, sort.limit, sort.descending))
+    }
+
+    /** `join left, right on leftKey = rightKey` (ver [JJoin]). */
+    fun join(left: JValue, right: JValue, join: JJoin): JValue {
+        if (left !is JArray || right !is JArray) throw IllegalArgumentException("join operation requires an array")
+        return JArray(JHashJoin.join(left.elements, right.elements, join.leftKey, join.rightKey))
+    }
+
+    private fun notFound(name: String) = IllegalArgumentException("Property $name not found in object")
+
+    /** Operadores respondidos por um [JAccumulator], que podem ser fundidos, agrupados e lidos em streaming. */
+    val OPERATORS = setOf("SUM", "COUNT", "MAX", "MIN", "AVG")
+
+    /**
+     * `MEDIAN` e os percentis, com o quantil de cada um. São acumulados num [JQuantileSketch] dentro do
+     * [JAccumulator], por isso também são lidos em streaming, mas não partilham acumuladores com outros caminhos.
+     */
+    val QUANTILE_OPERATORS = mapOf("MEDIAN" to 0.5, "P50" to 0.5, "P90" to 0.9, "P95" to 0.95, "P99" to 0.99)
+
+    /** Operadores com um [JAccumulator] próprio: os [OPERATORS] e os quantis. */
+    val ACCUMULATED_OPERATORS = OPERATORS + QUANTILE_OPERATORS.keys
+
+    /** Operadores sobre os valores diferentes de um array (ver [JDistinct]), avaliados sobre o array completo. */
+    val DISTINCT_OPERATORS = setOf("DISTINCT", "APPROX_DISTINCT")
+}
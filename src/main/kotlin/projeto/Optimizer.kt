@@ -0,0 +1,129 @@
+package projeto
+
+/**
+ * Transformações de um [JScript] que preservam os ficheiros guardados. As instruções que ficam mantêm a
+ * linha original em [JScript.lines], por isso os erros continuam a apontar para o script escrito.
+ */
+object JOptimizer {
+
+    /**
+     * Remove as atribuições e os `load` cujo valor não chega a nenhum `save`, percorrendo o script de trás
+     * para a frente com o conjunto das variáveis ainda necessárias. [removed] recebe a linha e a instrução
+     * de cada remoção. Uma instrução removida deixa de poder falhar, por isso um script com erros pode
+     * passar a terminar normalmente; a memória final deixa de conter as variáveis removidas.
+     */
+    fun eliminateDeadCode(script: JScript, removed: (line: Int, instruction: JInstruction) -> Unit = { _, _ -> }): JScript {
+        val live = HashSet<String>()
+        val keep = BooleanArray(script.instructions.size)
+        for (index in script.instructions.indices.reversed()) {
+            when (val instruction = script.instructions[index]) {
+                is JSave -> {
+                    keep[index] = true
+                    live.add(instruction.id)
+                }
+                is JAssign -> if (live.remove(instruction.varId)) {
+                    keep[index] = true
+                    live.addAll(JScriptAnalysis.referencedVariables(instruction.expression))
+                }
+                is JLoad -> keep[index] = live.remove(instruction.id)
+            }
+        }
+        val instructions = mutableListOf<JInstruction>()
+        val lines = mutableListOf<Int>()
+        script.instructions.forEachIndexed { index, instruction ->
+            if (keep[index]) {
+                instructions.add(instruction)
+                lines.add(script.lines[index])
+            } else {
+                removed(script.lines[index], instruction)
+            }
+        }
+        return if (instructions.size == script.instructions.size) script else JScript(instructions, lines)
+    }
+
+    /**
+     * Substitui os usos de um alias `v = base.a.b...` pelo próprio caminho e remove a atribuição, quando `v`
+     * só é lido como `v | OP` ou `v.c` depois de atribuído e nunca é guardado. Sem o alias, um documento usado
+     * apenas através de caminhos curtos passa a ser agregado em streaming (ver [JScriptAnalysis.streamableLoads]),
+     * e `v.c` é avaliado como um só [JPathPlan], sem copiar o array intermédio. Como em [eliminateDeadCode], a
+     * memória final deixa de conter as variáveis removidas, e um `v.c` que falhava por `v` ser um array passa
+     * a dar os valores do caminho.
+     */
+    fun inlinePathAliases(script: JScript): JScript {
+        val instructions = script.instructions.toMutableList()
+        val definitions = HashMap<String, Int>()
+        val saved = HashSet<String>()
+        // Instruções que leem cada variável; cresce quando um alias é substituído por um caminho sobre outra variável.
+        val uses = HashMap<String, LinkedHashSet<Int>>()
+        instructions.forEachIndexed { index, instruction ->
+            when (instruction) {
+                is JLoad -> definitions.merge(instruction.id, 1, Int::plus)
+                is JSave -> saved.add(instruction.id)
+                is JAssign -> {
+                    definitions.merge(instruction.varId, 1, Int::plus)
+                    JScriptAnalysis.referencedVariables(instruction.expression).forEach { uses.getOrPut(it) { LinkedHashSet() }.add(index) }
+                }
+            }
+        }
+        // Uma só passagem: os usos de um alias vêm todos depois dele e são reescritos quando é encontrado, por isso
+        // cada instrução já tem os aliases anteriores substituídos quando a passagem lá chega.
+        val removed = BooleanArray(instructions.size)
+        for (index in instructions.indices) {
+            val alias = aliasAt(instructions, index, definitions, saved, uses) ?: continue
+            val (path, rewritten) = alias
+            for ((k, instruction) in rewritten) {
+                instructions[k] = instruction
+                uses.getOrPut(path.base) { LinkedHashSet() }.add(k)
+            }
+            removed[index] = true
+        }
+        if (removed.none { it }) return script
+        return JScript(instructions.filterIndexed { k, _ -> !removed[k] }, script.lines.filterIndexed { k, _ -> !removed[k] })
+    }
+
+    private data class Alias(val path: JPropertyAccess, val rewritten: Map<Int, JAssign>)
+
+    // O alias atribuído na posição index, com as instruções que o leem já reescritas, se todas o puderem ser.
+    private fun aliasAt(
+        instructions: List<JInstruction>, index: Int, definitions: Map<String, Int>, saved: Set<String>, uses: Map<String, Set<Int>>
+    ): Alias? {
+        val instruction = instructions[index] as? JAssign ?: return null
+        val path = instruction.expression as? JPropertyAccess ?: return null
+        val name = instruction.varId
+        if (path.property.isEmpty() || path.filters.isNotEmpty() || path.base == name || name in saved) return null
+        if (definitions[name] != 1 || definitions[path.base] != 1) return null
+        val rewritten = HashMap<Int, JAssign>()
+        for (k in uses[name].orEmpty()) {
+            if (k == index) continue
+            if (k < index) return null
+            val reader = instructions[k] as JAssign
+            rewritten[k] = reader.copy(expression = inline(reader.expression, name, path) ?: return null)
+        }
+        return Alias(path, rewritten)
+    }
+
+    // expression com `name` substituído por path, ou null se algum uso de `name` não for `name | OP` nem `name.c`.
+    // O parser lê `ucs | COUNT` como um JPropertyAccess sem propriedades, que vale o mesmo que a variável.
+    private fun inline(expression: JExpression, name: String, path: JPropertyAccess): JExpression? {
+        return when (expression) {
+            // Num agrupamento a chave é lida do objeto do último nome, que muda quando o caminho cresce.
+            is JOperationsAccess -> when {
+                expression.groupBy != null -> expression.takeIf { name !in JScriptAnalysis.referencedVariables(it) }
+                expression.value == JVariable(name) -> expression.copy(value = path)
+                else -> inline(expression.value, name, path)?.let { expression.copy(value = it) }
+            }
+            is JSortAccess -> inline(expression.value, name, path)?.let { expression.copy(value = it) }
+            is JJoin -> {
+                val left = inline(expression.left, name, path) ?: return null
+                inline(expression.right, name, path)?.let { expression.copy(left = left, right = it) }
+            }
+            is JPropertyAccess -> when {
+                expression.base != name -> expression
+                // Um filtro sobre v não é o mesmo que o filtro no fim do caminho quando v contém arrays.
+                expression.filters.isNotEmpty() -> null
+                else -> JPropertyAccess(path.base, path.property + expression.property)
+            }
+            else -> expression.takeIf { name !in JScriptAnalysis.referencedVariables(it) }
+        }
+    }
+}
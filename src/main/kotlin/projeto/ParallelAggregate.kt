@@ -0,0 +1,51 @@
+package projeto
+
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.RecursiveTask
+
+/**
+ * Acumulação de arrays grandes em fork/join: o intervalo `[0, size)` é dividido ao meio até as partes terem
+ * no máximo [SEQUENTIAL_CUTOFF] elementos, cada parte acumula para o seu próprio estado (os [JAccumulator] de
+ * [accumulate], ou o [JHyperLogLog] de `APPROX_DISTINCT`) e os resultados parciais são juntados pela ordem dos
+ * elementos. Abaixo do limite, ou sem pool, tudo corre na thread atual.
+ */
+internal object JParallelAggregate {
+    const val SEQUENTIAL_CUTOFF = 1 shl 16
+
+    /**
+     * Devolve [count] acumuladores alimentados por [feed], que recebe os acumuladores de uma parte e o
+     * intervalo de posições que lhe cabe.
+     */
+    fun accumulate(
+        pool: ForkJoinPool?, size: Int, count: Int, operator: String = "COUNT",
+        feed: (accumulators: List<JAccumulator>, from: Int, to: Int) -> Unit
+    ): List<JAccumulator> = reduce(pool, size, { List(count) { JAccumulator(operator) } }, { left, right ->
+        right.forEachIndexed { k, accumulator -> left[k].merge(accumulator) }
+    }, feed)
+
+    /** Estado criado por [create] para cada parte, alimentado por [feed] e juntado ao da parte anterior com [merge]. */
+    fun <T> reduce(pool: ForkJoinPool?, size: Int, create: () -> T, merge: (T, T) -> Unit, feed: (T, from: Int, to: Int) -> Unit): T {
+        val task = Task(create, merge, feed, 0, size)
+        return if (pool == null || size <= SEQUENTIAL_CUTOFF) task.sequential() else pool.invoke(task)
+    }
+
+    private class Task<T>(
+        val create: () -> T,
+        val merge: (T, T) -> Unit,
+        val feed: (T, Int, Int) -> Unit,
+        val from: Int,
+        val to: Int
+    ) : RecursiveTask<T>() {
+
+        fun sequential(): T = create().also { feed(it, from, to) }
+
+        override fun compute(): T {
+            if (to - from <= SEQUENTIAL_CUTOFF) return sequential()
+            val middle = (from + to) ushr 1
+            val right = Task(create, merge, feed, middle, to).fork()
+            val left = Task(create, merge, feed, from, middle).compute()
+            merge(left, right.join())
+            return left
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package projeto
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ForkJoinPool
+
+/**
+ * Resultados de caminhos `base.first.second` calculados durante uma execução. O primeiro caminho sobre um
+ * array projeta de uma vez todos os campos que o script pede a esse prefixo (ver [JScriptAnalysis.pathFields]);
+ * os seguintes, e as repetições do mesmo caminho, são respondidos sem voltar a percorrer o array.
+ * Os agregados `base.first.second | OP` são fundidos da mesma forma: uma passagem acumula todos os campos.
+ * As chaves são os próprios valores (por identidade), que nunca mudam depois de construídos.
+ * Com [pool], as passagens pelos arrays grandes dos agregados são feitas em paralelo.
+ */
+class JPathCache(private val pool: ForkJoinPool? = null) {
+    private class Key(val base: JValue, val first: String) {
+        override fun equals(other: Any?): Boolean = other is Key && other.base === base && other.first == first
+        override fun hashCode(): Int = System.identityHashCode(base) * 31 + first.hashCode()
+    }
+
+    private val projections = ConcurrentHashMap<Key, Map<String, JArray>>()
+    private val accumulators = ConcurrentHashMap<Key, Map<String, JAccumulator>>()
+
+    /** [siblings] são os campos pedidos ao mesmo prefixo noutros caminhos, incluindo [second]. */
+    fun path(base: JValue, first: String, second: String, siblings: List<String>): JValue {
+        val key = Key(base, first)
+        projections[key]?.get(second)?.let { return it }
+        // O pedido vem primeiro para que o erro, se o prefixo não for um array, refira este caminho.
+        val names = listOf(second) + siblings.filter { it != second }
+        val projected = projections.compute(key) { _, cached ->
+            if (cached != null && second in cached) cached
+            else (cached.orEmpty() + names.zip(JOperations.paths(base, first, names))).toMap()
+        }
+        return projected!!.getValue(second)
+    }
+
+    /** `base.first.second | operator`, com [operator] um dos [JOperations.OPERATORS]. */
+    fun aggregate(base: JValue, first: String, second: String, operator: String, siblings: List<String>): JValue {
+        val key = Key(base, first)
+        val names = listOf(second) + siblings.filter { it != second }
+        val accumulated = accumulators[key]?.takeIf { second in it } ?: accumulators.compute(key) { _, cached ->
+            if (cached != null && second in cached) cached
+            else (cached.orEmpty() + names.zip(JOperations.accumulate(base, first, names, pool))).toMap()
+        }
+        return accumulated!!.getValue(second).result(operator)
+    }
+}
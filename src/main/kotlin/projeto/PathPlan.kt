@@ -0,0 +1,142 @@
+package projeto
+
+import java.util.concurrent.ForkJoinPool
+
+/**
+ * Caminho `base.a.b.c...` de qualquer profundidade, preparado uma vez por expressão e avaliado sem listas
+ * intermédias. Enquanto os valores são objetos cada nome é procurado diretamente e tem de existir. A partir do
+ * primeiro array o caminho passa a dar vários valores: de cada objeto é tirado o campo, se existir, e cada
+ * array produzido por um nível é percorrido pelo nível seguinte. Só os valores do último nível são guardados.
+ * Sobre um array `base.a.b` dá o mesmo que [JOperations.path], que continua a ser usado com dois níveis por
+ * causa da [JPathCache].
+ *
+ * Um filtro (ver [JPropertyAccess.filters]) é testado durante a travessia: de um array só seguem os elementos
+ * que passam, e um objeto segue se passar. A partir de um filtro o caminho dá sempre vários valores.
+ */
+class JPathPlan(names: List<String>, filters: Map<Int, JPredicate> = emptyMap()) {
+    private val names = names.toTypedArray()
+    private val filters = Array(names.size + 1) { filters[it] }
+
+    constructor(path: JPropertyAccess) : this(path.property, path.filters)
+
+    fun evaluate(base: JValue): JValue {
+        val (value, level) = objectLevels(base)
+        if (level == names.size && filters[level] == null) return value
+        val values = ArrayList<JValue>()
+        filter(value, level, null, null) { _, it -> values.add(it) }
+        return JArray(values)
+    }
+
+    /** `base.a.b.c | operator`, acumulado à medida que os valores do último nível são encontrados. */
+    fun aggregate(operator: String, base: JValue, pool: ForkJoinPool? = null): JValue {
+        if (operator !in JOperations.ACCUMULATED_OPERATORS) throw IllegalArgumentException("Unsupported operator: $operator")
+        val (value, level) = objectLevels(base)
+        if (level == names.size && filters[level] == null) return JOperations.aggregate(operator, value, pool)
+        val accumulator = JAccumulator(operator)
+        filter(value, level, null, null) { _, it -> accumulator.add(it) }
+        return accumulator.result()
+    }
+
+    /**
+     * `base.a.b | operator BY key`. Os valores do caminho que são arrays contribuem com os seus elementos. Um objeto
+     * é agrupado pelo seu próprio campo [key] (`doc.ucs | COUNT BY area`); os outros valores pelo campo [key] do
+     * objeto de onde `b` foi lido (`doc.ucs.creditos | SUM BY area`). O caminho é seguido como a partir do primeiro
+     * array, por isso [base] também pode ser um array; os valores sem chave ficam de fora.
+     */
+    fun group(operator: String, base: JValue, key: String): JObject {
+        val groups = JGroupTable(operator)
+        val start = base.resolve()
+        if (start !is JObject && start !is JArray) throw notFound(names.firstOrNull() ?: key)
+        fun add(holderKey: JValue?, value: JValue) {
+            val group = if (value is JObject) value[key]?.resolve() else holderKey
+            if (group != null) groups.add(group, value)
+        }
+        filter(start, 0, null, key) { holderKey, value ->
+            if (value is JArray) value.elements.forEach { add(holderKey, it) } else add(holderKey, value)
+        }
+        return groups.result()
+    }
+
+    // Segue os níveis enquanto os valores são objetos sem filtro: devolve o valor alcançado e quantos nomes consumiu.
+    private fun objectLevels(base: JValue): Pair<JValue, Int> {
+        var current = base.resolve()
+        if (filters[0] != null || names.isEmpty()) return current to 0
+        if (current !is JObject) throw notFound(names[0])
+        var level = 0
+        while (level < names.size) {
+            current = when (current) {
+                is JObject -> current[names[level]]?.resolve() ?: throw notFound(names[level])
+                is JArray -> break
+                else -> throw notFound(names[level])
+            }
+            level++
+            if (filters[level] != null) break
+        }
+        return current to level
+    }
+
+    // Valor que chegou ao nível level: passa pelo filtro desse nível, se houver, antes de continuar. Com [keyField]
+    // cada valor do último nível segue com a chave lida do objeto que o continha.
+    private fun filter(current: JValue, level: Int, key: JValue?, keyField: String?, sink: (JValue?, JValue) -> Unit) {
+        val predicate = filters[level] ?: return step(current, level, key, keyField, sink)
+        if (current !is JArray) {
+            if (predicate.test(current)) step(current, level, key, keyField, sink)
+            return
+        }
+        val elements = current.elements
+        if (elements is JColumnarRows && level < names.size) {
+            // As linhas nunca são construídas: o filtro e o nível seguinte leem as colunas.
+            val comparisons = predicate.comparisons.map { it to elements.column(it.field) }
+            val next = elements.column(names[level]) ?: return
+            val last = keyField != null && level == names.size - 1
+            val keys = keyColumn(elements, level, keyField)
+            for (i in next.indices) {
+                if (comparisons.all { (comparison, column) -> comparison.test(column?.get(i)) }) {
+                    filter(next[i], level + 1, if (last) keys?.get(i) else key, keyField, sink)
+                }
+            }
+            return
+        }
+        for (element in elements) {
+            if (predicate.test(element)) step(element, level, key, keyField, sink)
+        }
+    }
+
+    private fun step(current: JValue, level: Int, key: JValue?, keyField: String?, sink: (JValue?, JValue) -> Unit) {
+        if (level == names.size) {
+            sink(key, current)
+            return
+        }
+        val name = names[level]
+        val last = keyField != null && level == names.size - 1
+        when (current) {
+            is JObject -> current[name]?.let {
+                filter(it.resolve(), level + 1, if (last) current[keyField!!]?.resolve() else key, keyField, sink)
+            }
+            is JArray -> {
+                val elements = current.elements
+                if (elements is JColumnarRows) {
+                    val column = elements.column(name) ?: return
+                    val keys = keyColumn(elements, level, keyField)
+                    for (i in column.indices) filter(column[i], level + 1, if (last) keys?.get(i) else key, keyField, sink)
+                } else {
+                    for (element in elements) {
+                        if (element is JObject) element[name]?.let {
+                            filter(it.resolve(), level + 1, if (last) element[keyField!!]?.resolve() else key, keyField, sink)
+                        }
+                    }
+                }
+            }
+            else -> Unit
+        }
+    }
+
+    // Coluna das chaves quando o nível seguinte lê o último nome do caminho destas linhas.
+    private fun keyColumn(rows: JColumnarRows, level: Int, keyField: String?): JColumn? =
+        if (keyField != null && level == names.size - 1) rows.column(keyField) else null
+
+    private fun notFound(name: String) = IllegalArgumentException("Property $name not found in object")
+}
+
+// Caminhos avaliados por um JPathPlan; os de um ou dois níveis sem filtros têm caminhos próprios, mais rápidos.
+internal val JPropertyAccess.usesPlan: Boolean get() = filters.isNotEmpty() || property.size > 2
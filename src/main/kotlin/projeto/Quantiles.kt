@@ -0,0 +1,127 @@
+package projeto
+
+import java.util.SplittableRandom
+
+/**
+ * Quantis de uma sequência de números numa só passagem. Até [exactLimit] valores são todos guardados e os
+ * quantis são exatos; a partir daí o sketch passa a ser um KLL: o nível `h` guarda valores com peso `2^h` e,
+ * quando o sketch enche, o nível mais baixo que chegou à sua capacidade é ordenado e metade dos seus valores (os
+ * de posição par ou ímpar, ao acaso) sobe ao nível seguinte. A capacidade do nível mais alto é [k] e a de cada
+ * nível abaixo 2/3 da do de cima, por isso a memória fica em O(k) valores qualquer que seja o número de valores.
+ * Com k = 200 o rank devolvido fica, com 99% de confiança, a menos de cerca de 1,7% de n do rank pedido.
+ *
+ * Dois sketches juntam-se com [merge] (nível a nível, compactando depois), com o mesmo erro que se os valores
+ * tivessem sido acrescentados ao mesmo sketch: as partes de um array podem ser resumidas em paralelo.
+ */
+class JQuantileSketch(private val k: Int = DEFAULT_K, private val exactLimit: Int = EXACT_LIMIT) {
+    private var levels = arrayOf(DoubleArray(INITIAL_CAPACITY))
+    private var sizes = IntArray(1)
+    private var capacities = intArrayOf(k)
+    private var retained = 0
+    private var totalCapacity = k
+    private val random = SplittableRandom(SEED)
+
+    var count = 0L
+        private set
+
+    /** Verdadeiro enquanto todos os valores estão guardados. */
+    var exact = true
+        private set
+
+    fun add(value: Double) {
+        append(0, value)
+        count++
+        if (exact) {
+            if (sizes[0] > exactLimit) {
+                exact = false
+                compactLowest()
+            }
+        } else if (retained >= totalCapacity) {
+            compactLowest()
+        }
+    }
+
+    fun merge(other: JQuantileSketch) {
+        count += other.count
+        for (h in other.levels.indices) {
+            for (i in 0 until other.sizes[h]) append(h, other.levels[h][i])
+        }
+        if (exact && other.exact && sizes[0] <= exactLimit) return
+        exact = false
+        compactLowest()
+    }
+
+    /**
+     * O menor valor guardado cujo rank (a soma dos pesos dos valores até ele, inclusive) chega a `q * n`: com
+     * [exact], o valor na posição `ceil(q * n)` dos valores ordenados, por isso a mediana de 1, 2, 3, 4 é 2.
+     */
+    fun quantile(q: Double): Double {
+        if (count == 0L) throw NoSuchElementException()
+        if (q !in 0.0..1.0) throw IllegalArgumentException("Quantile must be between 0 and 1: $q")
+        val values = DoubleArray(retained)
+        val weights = LongArray(retained)
+        var n = 0
+        for (h in levels.indices) {
+            for (i in 0 until sizes[h]) {
+                values[n] = levels[h][i]
+                weights[n++] = 1L shl h
+            }
+        }
+        val order = (0 until retained).sortedBy { values[it] }
+        val target = maxOf(1L, Math.ceil(q * count).toLong())
+        var rank = 0L
+        for (i in order) {
+            rank += weights[i]
+            if (rank >= target) return values[i]
+        }
+        return values[order.last()]
+    }
+
+    private fun append(level: Int, value: Double) {
+        if (level == levels.size) grow()
+        if (sizes[level] == levels[level].size) levels[level] = levels[level].copyOf(levels[level].size * 2)
+        levels[level][sizes[level]++] = value
+        retained++
+    }
+
+    // Novo nível no topo: as capacidades são recalculadas, k no nível mais alto e 2/3 disso em cada nível abaixo.
+    private fun grow() {
+        val height = levels.size + 1
+        levels = Array(height) { levels.getOrNull(it) ?: DoubleArray(INITIAL_CAPACITY) }
+        sizes = sizes.copyOf(height)
+        capacities = IntArray(height) { maxOf(MIN_CAPACITY, Math.ceil(k * Math.pow(2.0 / 3.0, (height - 1 - it).toDouble())).toInt()) }
+        totalCapacity = capacities.sum()
+    }
+
+    // Compacta o nível mais baixo que chegou à capacidade até o sketch voltar a caber na capacidade total.
+    private fun compactLowest() {
+        while (retained >= totalCapacity) {
+            val level = (0 until levels.size).firstOrNull { sizes[it] >= capacities[it] } ?: return
+            compact(level)
+        }
+    }
+
+    // Metade dos valores do nível sobe com o dobro do peso; com um número ímpar, o primeiro fica onde está.
+    private fun compact(level: Int) {
+        val values = levels[level]
+        val size = sizes[level]
+        values.sort(0, size)
+        val start = size % 2
+        var i = start + random.nextInt(2)
+        while (i < size) {
+            append(level + 1, values[i])
+            i += 2
+        }
+        retained -= size - start
+        sizes[level] = start
+    }
+
+    companion object {
+        const val DEFAULT_K = 200
+        const val EXACT_LIMIT = 1 shl 14
+        private const val MIN_CAPACITY = 8
+        private const val INITIAL_CAPACITY = 16
+        // Semente fixa: o mesmo array dá sempre os mesmos quantis.
+        private const val SEED = 0x2545F4914F6CDD1DL
+    }
+}
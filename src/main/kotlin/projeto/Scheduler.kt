@@ -0,0 +1,53 @@
+package projeto
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.ExecutorService
+
+/**
+ * Executa as tarefas `0 until dependencies.size` num [ExecutorService], cada uma só depois das
+ * tarefas de que depende (ver [JScriptAnalysis.dependencies]). Depois de uma falha, as tarefas
+ * seguintes que ainda não começaram são saltadas; é devolvida a falha com o menor índice.
+ */
+internal class JScheduler(private val dependencies: List<IntArray>, private val executor: ExecutorService) {
+
+    class Failure(val index: Int, val exception: Exception)
+
+    @Volatile
+    private var failure: Failure? = null
+
+    fun run(task: (Int) -> Unit): Failure? {
+        val futures = arrayOfNulls<CompletableFuture<Void>>(dependencies.size)
+        for (i in dependencies.indices) {
+            val before = dependencies[i]
+            val ready = if (before.isEmpty()) {
+                CompletableFuture.completedFuture(null)
+            } else {
+                CompletableFuture.allOf(*Array(before.size) { futures[before[it]]!! })
+            }
+            futures[i] = ready.thenRunAsync({ execute(i, task) }, executor)
+        }
+        try {
+            CompletableFuture.allOf(*futures).join()
+        } catch (e: CompletionException) {
+            // Só os Error (por exemplo TODO()) chegam aqui; as exceções ficam em failure.
+            throw e.cause ?: e
+        }
+        return failure
+    }
+
+    private fun execute(index: Int, task: (Int) -> Unit) {
+        if ((failure?.index ?: Int.MAX_VALUE) < index) return
+        try {
+            task(index)
+        } catch (e: Exception) {
+            fail(Failure(index, e))
+        }
+    }
+
+    @Synchronized
+    private fun fail(candidate: Failure) {
+        val current = failure
+        if (current == null || candidate.index < current.index) failure = candidate
+    }
+}
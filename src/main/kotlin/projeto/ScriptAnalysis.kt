@@ -0,0 +1,179 @@
+package projeto
+
+/**
+ * Análises estáticas sobre um [JScript] usadas pelo [JIntepreter] para escolher como executar cada instrução.
+ */
+object JScriptAnalysis {
+
+    /**
+     * Para cada `load` cujo documento só é lido através de caminhos de um ou dois níveis (`doc.a`, `doc.a.b`,
+     * com ou sem operador), devolve o índice da instrução e as expressões que o leem. Estes documentos podem
+     * ser avaliados em streaming, sem nunca construir a árvore completa.
+     */
+    fun streamableLoads(script: JScript): Map<Int, List<JExpression>> {
+        val result = mutableMapOf<Int, List<JExpression>>()
+        script.instructions.forEachIndexed { index, instruction ->
+            if (instruction is JLoad && definitions(script, instruction.id) == 1) {
+                val uses = mutableListOf<JExpression>()
+                val streamable = script.instructions.all { other ->
+                    when (other) {
+                        is JSave -> other.id != instruction.id
+                        is JAssign -> collectPathUses(other.expression, instruction.id, uses)
+                        is JLoad -> true
+                    }
+                }
+                if (streamable) result[index] = uses.distinct()
+            }
+        }
+        return result
+    }
+
+    /**
+     * Projeção exigida a cada variável, propagada para trás a partir dos valores que têm de ficar completos:
+     * os guardados com `save` e, com [fullMemory], todas as variáveis atribuídas. Os operadores só precisam dos
+     * escalares dos elementos, por isso pedem [JProjection.EMPTY] ao valor sobre o qual operam.
+     */
+    fun projections(script: JScript, fullMemory: Boolean): Map<String, JProjection> {
+        val demand = mutableMapOf<String, JProjection>()
+        fun require(name: String, projection: JProjection) {
+            demand[name] = demand[name]?.merge(projection) ?: projection
+        }
+        fun requireExpression(expression: JExpression, projection: JProjection) {
+            when (expression) {
+                is JVariable -> require(expression.name, projection)
+                is JPropertyAccess -> require(expression.base, pathProjection(expression, projection))
+                is JOperationsAccess -> {
+                    // Os valores diferentes comparam os elementos inteiros.
+                    val elements = if (expression.operator in JOperations.DISTINCT_OPERATORS) JProjection.WHOLE else JProjection.EMPTY
+                    requireExpression(expression.value, elements)
+                    // A chave de um agrupamento vem do objeto que contém o último nome do caminho.
+                    val path = expression.value as? JPropertyAccess
+                    if (expression.groupBy != null && path != null) {
+                        requireExpression(path.copy(property = path.property.dropLast(1) + expression.groupBy), JProjection.EMPTY)
+                    }
+                }
+                // Os elementos ordenados são os do valor, que também tem de trazer a chave de cada um.
+                is JSortAccess -> requireExpression(expression.value, expression.by?.let {
+                    projection.merge(JProjection(false, mapOf(it to JProjection.EMPTY)))
+                } ?: projection)
+                // Cada objeto do resultado tem os campos dos dois lados, que também trazem as chaves.
+                is JJoin -> {
+                    requireExpression(expression.left, projection.merge(JProjection(false, mapOf(expression.leftKey to JProjection.EMPTY))))
+                    requireExpression(expression.right, projection.merge(JProjection(false, mapOf(expression.rightKey to JProjection.EMPTY))))
+                }
+                is JValueExpression, is JArray -> referencedVariables(expression).forEach { require(it, JProjection.WHOLE) }
+            }
+        }
+        for (instruction in script.instructions.asReversed()) {
+            when (instruction) {
+                is JSave -> require(instruction.id, JProjection.WHOLE)
+                is JAssign -> {
+                    if (fullMemory) require(instruction.varId, JProjection.WHOLE)
+                    demand[instruction.varId]?.let { requireExpression(instruction.expression, it) }
+                }
+                is JLoad -> Unit
+            }
+        }
+        return demand
+    }
+
+    /**
+     * Para cada instrução, as instruções anteriores que têm de terminar antes dela: a última que escreveu cada
+     * variável que lê ou escreve, as que leram uma variável que ela vai reescrever e a instrução de I/O (`load`
+     * ou `save`) anterior. Um `save` espera só pelo valor que escreve e pelo I/O anterior, por isso um script com
+     * N instruções tem O(N) dependências; um erro numa instrução de que não depende pode chegar depois de o
+     * ficheiro estar escrito.
+     */
+    fun dependencies(script: JScript): List<IntArray> {
+        val lastWriter = HashMap<String, Int>()
+        val readers = HashMap<String, MutableList<Int>>()
+        var lastIo = -1
+        return script.instructions.mapIndexed { index, instruction ->
+            val before = HashSet<Int>()
+            val (reads, write) = when (instruction) {
+                is JLoad -> emptySet<String>() to instruction.id
+                is JSave -> setOf(instruction.id) to null
+                is JAssign -> referencedVariables(instruction.expression) to instruction.varId
+            }
+            for (name in reads) {
+                lastWriter[name]?.let { before.add(it) }
+                readers.getOrPut(name) { mutableListOf() }.add(index)
+            }
+            if (write != null) {
+                lastWriter[write]?.let { before.add(it) }
+                readers.remove(write)?.let { before.addAll(it) }
+                lastWriter[write] = index
+            }
+            if (instruction !is JAssign) {
+                if (lastIo >= 0) before.add(lastIo)
+                lastIo = index
+            }
+            before.remove(index)
+            before.toIntArray().apply { sort() }
+        }
+    }
+
+    /** Para cada par (variável, primeiro campo), os segundos campos pedidos em caminhos `variavel.a.b`. */
+    fun pathFields(script: JScript): Map<Pair<String, String>, List<String>> {
+        val fields = LinkedHashMap<Pair<String, String>, LinkedHashSet<String>>()
+        fun collect(expression: JExpression) {
+            when (expression) {
+                is JPropertyAccess -> if (expression.property.size == 2 && expression.filters.isEmpty()) {
+                    fields.getOrPut(expression.base to expression.property[0]) { LinkedHashSet() }.add(expression.property[1])
+                }
+                is JOperationsAccess -> collect(expression.value)
+                else -> Unit
+            }
+        }
+        script.instructions.forEach { if (it is JAssign) collect(it.expression) }
+        return fields.mapValues { it.value.toList() }
+    }
+
+    fun definitions(script: JScript, id: String): Int = script.instructions.count {
+        (it is JLoad && it.id == id) || (it is JAssign && it.varId == id)
+    }
+
+    fun referencedVariables(expression: JExpression): Set<String> {
+        return when (expression) {
+            is JVariable -> setOf(expression.name)
+            is JPropertyAccess -> setOf(expression.base)
+            is JOperationsAccess -> referencedVariables(expression.value)
+            is JSortAccess -> referencedVariables(expression.value)
+            is JJoin -> referencedVariables(expression.left) + referencedVariables(expression.right)
+            is JValueExpression -> (expression.value as? JObject)?.fields.orEmpty().mapNotNull { (it.value as? JVariable)?.name }.toSet()
+            // Num array literal as variáveis são os elementos, e os campos dos objetos que lá estão.
+            is JArray -> expression.elements.flatMapTo(LinkedHashSet()) { element ->
+                when (element) {
+                    is JVariable -> setOf(element.name)
+                    is JArray -> referencedVariables(element)
+                    is JObject -> referencedVariables(JValueExpression(element))
+                    else -> emptySet()
+                }
+            }
+        }
+    }
+
+    // Projeção de base para o caminho, incluindo os campos comparados pelos seus filtros.
+    private fun pathProjection(path: JPropertyAccess, leaf: JProjection): JProjection {
+        fun filtered(level: Int, projection: JProjection): JProjection {
+            val predicate = path.filters[level] ?: return projection
+            return projection.merge(JProjection(false, predicate.fields.associateWith { JProjection.EMPTY }))
+        }
+        return path.property.indices.reversed().fold(filtered(path.property.size, leaf)) { projection, k ->
+            filtered(k, JProjection(false, mapOf(path.property[k] to projection)))
+        }
+    }
+
+    // O JStreamingEvaluator só segue caminhos de um ou dois níveis, sem filtros.
+    private fun streamable(path: JPropertyAccess): Boolean = path.property.size in 1..2 && path.filters.isEmpty()
+
+    private fun collectPathUses(expression: JExpression, id: String, uses: MutableList<JExpression>): Boolean {
+        return when {
+            expression is JPropertyAccess && expression.base == id -> streamable(expression) && uses.add(expression)
+            expression is JOperationsAccess && expression.value is JPropertyAccess && expression.value.base == id -> {
+                expression.groupBy == null && expression.operator in JOperations.ACCUMULATED_OPERATORS && streamable(expression.value) && uses.add(expression)
+            }
+            else -> id !in referencedVariables(expression)
+        }
+    }
+}
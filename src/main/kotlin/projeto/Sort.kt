@@ -0,0 +1,203 @@
+package projeto
+
+import java.util.BitSet
+
+/**
+ * `SORT` e `TOP` sobre os elementos de um array, pela chave `by` de cada elemento ou, sem `by`, pelo próprio
+ * elemento. Os números vêm antes das strings; as chaves em falta ou de outros tipos ficam no fim, pela ordem
+ * original, também por ordem decrescente. Os empates mantêm a ordem original.
+ *
+ * Quando não há strings, as chaves são copiadas para um [LongArray] (os doubles numa codificação que se ordena
+ * como long) e ordenadas juntamente com os índices, sem comparar [JNumber]s. `TOP k` só guarda os k melhores
+ * índices num heap, em O(n log k).
+ */
+internal object JSort {
+
+    fun sort(elements: List<JValue>, by: String?, descending: Boolean): List<JValue> {
+        val keys = keys(elements, by)
+        val order = keys.present()
+        if (keys.numbers != null) {
+            sortNumbers(order, keys.numbers, descending)
+        } else {
+            val sign = if (descending) -1 else 1
+            order.sortedWith { i, j -> sign * keys.compare(i, j) }.forEachIndexed { k, i -> order[k] = i }
+        }
+        return result(elements, order, keys.missing, elements.size)
+    }
+
+    fun top(elements: List<JValue>, by: String?, k: Int, descending: Boolean = true): List<JValue> {
+        if (k <= 0) throw IllegalArgumentException("TOP requires a positive count: $k")
+        val keys = keys(elements, by)
+        val sign = if (descending) 1 else -1
+        // i fica atrás de j: chave pior ou, com chaves iguais, posição posterior.
+        fun worse(i: Int, j: Int): Boolean {
+            val order = sign * keys.compare(i, j)
+            return order < 0 || order == 0 && i > j
+        }
+        // Heap mínimo dos k melhores: a raiz é o pior, o primeiro a sair quando aparece um melhor.
+        val heap = IntArray(minOf(k, elements.size))
+        var size = 0
+        fun siftDown(start: Int) {
+            var parent = start
+            while (true) {
+                var child = 2 * parent + 1
+                if (child >= size) return
+                if (child + 1 < size && worse(heap[child + 1], heap[child])) child++
+                if (!worse(heap[child], heap[parent])) return
+                heap[parent] = heap[child].also { heap[child] = heap[parent] }
+                parent = child
+            }
+        }
+        for (i in elements.indices) {
+            if (keys.missing[i]) continue
+            if (size < heap.size) {
+                heap[size] = i
+                var child = size++
+                while (child > 0 && worse(heap[child], heap[(child - 1) / 2])) {
+                    val parent = (child - 1) / 2
+                    heap[parent] = heap[child].also { heap[child] = heap[parent] }
+                    child = parent
+                }
+            } else if (size > 0 && worse(heap[0], i)) {
+                heap[0] = i
+                siftDown(0)
+            }
+        }
+        val order = heap.copyOf(size).sortedWith { i, j -> if (worse(i, j)) 1 else if (worse(j, i)) -1 else 0 }.toIntArray()
+        return result(elements, order, keys.missing, k)
+    }
+
+    // Os elementos de order seguidos dos que não têm chave, até limit.
+    private fun result(elements: List<JValue>, order: IntArray, missing: BitSet, limit: Int): List<JValue> {
+        val result = ArrayList<JValue>(minOf(limit, elements.size))
+        for (i in order) result.add(elements[i])
+        var i = missing.nextSetBit(0)
+        while (i >= 0 && result.size < limit) {
+            result.add(elements[i])
+            i = missing.nextSetBit(i + 1)
+        }
+        return result
+    }
+
+    /**
+     * Chave de cada posição: em [numbers] quando nenhuma das chaves é uma string, senão em [values]. As posições
+     * em [missing] não têm chave que se ordene.
+     */
+    private class Keys(val numbers: LongArray?, val values: Array<JValue?>?, val missing: BitSet, val size: Int) {
+        fun present(): IntArray {
+            val order = IntArray(size - missing.cardinality())
+            var k = 0
+            for (i in 0 until size) if (!missing[i]) order[k++] = i
+            return order
+        }
+
+        fun compare(i: Int, j: Int): Int {
+            if (numbers != null) return numbers[i].compareTo(numbers[j])
+            val a = values!![i]!!
+            val b = values[j]!!
+            return when {
+                a is JLong && b is JLong -> a.value.compareTo(b.value)
+                a is JNumber && b is JNumber -> a.toDouble().compareTo(b.toDouble())
+                a is JString && b is JString -> a.value.compareTo(b.value)
+                else -> if (a is JNumber) -1 else 1
+            }
+        }
+    }
+
+    private fun keys(elements: List<JValue>, by: String?): Keys {
+        val size = elements.size
+        val missing = BitSet(size)
+        // Nas linhas em colunas a coluna da chave é lida diretamente, sem reconstruir as linhas.
+        val column = if (by != null && elements is JColumnarRows) {
+            elements.column(by) ?: return Keys(null, null, missing.apply { set(0, size) }, size)
+        } else {
+            null
+        }
+        if (column != null) {
+            for (i in 0 until size) if (column.isNull(i)) missing.set(i)
+            when (column) {
+                is JLongColumn -> return Keys(column.values, null, missing, size)
+                is JDoubleColumn -> return Keys(LongArray(size) { sortable(column.values[it]) }, null, missing, size)
+                else -> Unit
+            }
+        }
+        val values = arrayOfNulls<JValue>(size)
+        var strings = false
+        var doubles = false
+        for (i in 0 until size) {
+            val key = when {
+                by == null -> elements[i]
+                column != null -> column[i]
+                else -> (elements[i] as? JObject)?.get(by)
+            }?.resolve()
+            when (key) {
+                is JNumber -> doubles = doubles || key is JDouble
+                is JString -> strings = true
+                else -> {
+                    missing.set(i)
+                    continue
+                }
+            }
+            values[i] = key
+        }
+        if (strings) return Keys(null, values, missing, size)
+        // Só inteiros: os próprios valores. Com algum decimal todas as chaves são comparadas como doubles.
+        val numbers = LongArray(size) { i ->
+            when (val key = values[i]) {
+                is JLong -> if (doubles) sortable(key.value.toDouble()) else key.value
+                is JDouble -> sortable(key.value)
+                else -> 0L
+            }
+        }
+        return Keys(numbers, null, missing, size)
+    }
+
+    // Bits do double com a parte abaixo do sinal invertida nos negativos: a ordem dos longs é a dos doubles.
+    private fun sortable(value: Double): Long {
+        val bits = value.toRawBits()
+        return bits xor ((bits shr 63) and Long.MAX_VALUE)
+    }
+
+    // Merge sort estável de order pela chave de cada índice. As chaves são copiadas por posição (invertidas com
+    // `inv`, sem overflow, por ordem decrescente) para que a ordenação percorra memória contígua.
+    private fun sortNumbers(order: IntArray, numbers: LongArray, descending: Boolean) {
+        val keys = LongArray(order.size) { if (descending) numbers[order[it]].inv() else numbers[order[it]] }
+        mergeSort(keys, order, keys.copyOf(), order.copyOf(), 0, order.size)
+    }
+
+    // Ordena keys/order em [from, to) usando buffer/bufferOrder, que começam com o mesmo conteúdo.
+    private fun mergeSort(keys: LongArray, order: IntArray, buffer: LongArray, bufferOrder: IntArray, from: Int, to: Int) {
+        if (to - from <= INSERTION_CUTOFF) {
+            for (i in from + 1 until to) {
+                val key = keys[i]
+                val index = order[i]
+                var j = i - 1
+                while (j >= from && keys[j] > key) {
+                    keys[j + 1] = keys[j]
+                    order[j + 1] = order[j]
+                    j--
+                }
+                keys[j + 1] = key
+                order[j + 1] = index
+            }
+            return
+        }
+        val middle = (from + to) ushr 1
+        // As metades são ordenadas no buffer e juntadas de volta, alternando os papéis a cada nível.
+        mergeSort(buffer, bufferOrder, keys, order, from, middle)
+        mergeSort(buffer, bufferOrder, keys, order, middle, to)
+        var left = from
+        var right = middle
+        for (k in from until to) {
+            if (right >= to || left < middle && buffer[left] <= buffer[right]) {
+                keys[k] = buffer[left]
+                order[k] = bufferOrder[left++]
+            } else {
+                keys[k] = buffer[right]
+                order[k] = bufferOrder[right++]
+            }
+        }
+    }
+
+    private const val INSERTION_CUTOFF = 32
+}
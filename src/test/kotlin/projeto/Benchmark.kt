@@ -0,0 +1,357 @@
+package projeto
+
+import org.antlr.v4.runtime.CharStreams
+import org.antlr.v4.runtime.CommonTokenStream
+import java.io.File
+
+/**
+ * Benchmarks simples (sem JMH) executados com `gradle benchmark --args="<suite> [tamanho]"`.
+ * Cada suite imprime o tempo médio por iteração e o débito em MB/s ou operações/s.
+ */
+object JBenchmark {
+    private const val WARMUP = 3
+    private const val ITERATIONS = 5
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val suite = args.getOrNull(0) ?: "all"
+        val size = args.getOrNull(1)?.toInt() ?: 200_000
+        val suites = mapOf<String, (Int) -> Unit>(
+            "load" to ::benchmarkLoad,
+            "mmap" to ::benchmarkMmap,
+            "stream" to ::benchmarkStream,
+            "projection" to ::benchmarkProjection,
+            "lazy" to ::benchmarkLazy,
+            "lookup" to ::benchmarkLookup,
+            "columnar" to ::benchmarkColumnar,
+            "compiled" to ::benchmarkCompiled,
+            "startup" to ::benchmarkStartup,
+            "parallel" to ::benchmarkParallel,
+            "paths" to ::benchmarkPaths,
+            "fused" to ::benchmarkFused,
+            "forkjoin" to ::benchmarkForkJoin,
+            "deep" to ::benchmarkDeep,
+            "filter" to ::benchmarkFilter,
+            "groupby" to ::benchmarkGroupBy,
+            "sort" to ::benchmarkSort,
+            "distinct" to ::benchmarkDistinct,
+            "quantile" to ::benchmarkQuantile,
+            "join" to ::benchmarkJoin,
+        )
+        if (suite == "all") {
+            suites.values.forEach { it(size) }
+        } else {
+            (suites[suite] ?: throw IllegalArgumentException("Unknown suite: $suite"))(size)
+        }
+    }
+
+    private fun benchmarkLoad(size: Int) {
+        val file = generateDocument(size)
+        val bytes = file.length()
+        measure("load/antlr", bytes) {
+            val parser = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromFileName(file.path))))
+            parser.value().toAST()
+        }
+        measure("load/reader", bytes) { JsonReader.parse(file) }
+        file.delete()
+    }
+
+    private fun benchmarkMmap(size: Int) {
+        val file = generateDocument(size)
+        val bytes = file.length()
+        measure("load/heap", bytes) { JsonReader(ByteArrayInput(file.readBytes())).read() }
+        measure("load/mmap", bytes) { JsonReader(MappedInput(file)).read() }
+        file.delete()
+    }
+
+    private fun benchmarkStream(size: Int) {
+        val file = generateDocument(size)
+        val script = JScript(listOf(
+            JLoad(file.path, "doc"),
+            JAssign("creditos", JOperationsAccess(JPropertyAccess("doc", listOf("ucs", "creditos")), "SUM")),
+            JAssign("maxHoras", JOperationsAccess(JPropertyAccess("doc", listOf("ucs", "horas")), "MAX"))
+        ))
+        val uses = JScriptAnalysis.streamableLoads(script).getValue(0)
+        measure("aggregate/tree", file.length()) { JIntepreter(JScript(script.instructions + JAssign("copia", JVariable("doc")))).run(emptyList()) }
+        measure("aggregate/stream", file.length()) { JLoad(file.path, "doc").stream(file.path, uses) }
+        file.delete()
+    }
+
+    private fun benchmarkProjection(size: Int) {
+        val file = generateDocument(size / 20, extraFields = 100)
+        val projection = JProjection(false, mapOf("ucs" to JProjection(false, mapOf("creditos" to JProjection.EMPTY))))
+        measure("load/whole", file.length()) { JsonReader.parse(file) }
+        measure("load/projected", file.length()) { JsonReader.parse(file, projection) }
+        file.delete()
+    }
+
+    private fun benchmarkLazy(size: Int) {
+        val file = generateDocument(size)
+        measure("curso/eager", file.length()) { (JsonReader.parse(file) as JObject).fields.first().value }
+        measure("curso/lazy", file.length()) { (JsonReader.parse(file, lazy = true) as JObject).fields.first().value }
+        file.delete()
+    }
+
+    private fun benchmarkLookup(size: Int) {
+        val objects = (0 until size / 10).map { i -> JObject((0 until 64).map { JField("campo$it", JNumber(i + it)) }) }
+        measure("lookup/scan", 0) { objects.sumOf { o -> (o.fields.find { it.name == "campo60" }?.value as JNumber).toDouble() } }
+        measure("lookup/index", 0) { objects.sumOf { o -> (o["campo60"] as JNumber).toDouble() } }
+    }
+
+    private fun benchmarkColumnar(size: Int) {
+        val file = generateDocument(size)
+        val columnar = JsonReader.parse(file) as JObject
+        val rows = JObject(listOf(JField("ucs", JArray(ArrayList((columnar["ucs"] as JArray).elements)))))
+        val script = JScript(listOf(
+            JAssign("creditos", JOperationsAccess(JPropertyAccess("doc", listOf("ucs", "creditos")), "SUM")),
+            JAssign("maxHoras", JOperationsAccess(JPropertyAccess("doc", listOf("ucs", "horas")), "MAX"))
+        ))
+        for ((name, doc) in listOf("rows" to rows, "columnar" to columnar)) {
+            measure("aggregate/$name", 0) {
+                JIntepreter(script).apply { memory["doc"] = doc }.run(emptyList())
+            }
+        }
+        file.delete()
+    }
+
+    // Transformação estilo teste.jql (sem o save) repetida sobre um documento pequeno.
+    private fun benchmarkCompiled(size: Int) {
+        val file = File("src/files/lei.json")
+        val runs = maxOf(1, size / 100)
+        val script = JScript(listOf(
+            JLoad("\$1", "doc"),
+            JAssign("curso", JPropertyAccess("doc", listOf("curso"))),
+            JAssign("ucs", JPropertyAccess("doc", listOf("ucs"))),
+            JAssign("siglas", JPropertyAccess("doc", listOf("ucs", "sigla"))),
+            JAssign("creditos", JOperationsAccess(JPropertyAccess("doc", listOf("ucs", "creditos")), "SUM")),
+            JAssign("maxHorasUc", JOperationsAccess(JPropertyAccess("doc", listOf("ucs", "horas")), "MAX")),
+            JAssign("total", JOperationsAccess(JVariable("ucs"), "COUNT")),
+            JAssign("resumo", JValueExpression(JObject(listOf(
+                JField("curso", JVariable("curso")), JField("ucs", JVariable("siglas")), JField("creditos", JVariable("creditos")),
+                JField("maxHoras", JVariable("maxHorasUc")), JField("totalUcs", JVariable("total"))
+            ))))
+        ))
+        val arguments = listOf(file.path)
+        val closures = JCompiler.compile(script)
+        val bytecode = JCompiler.compile(script, backend = JBackend.BYTECODE)
+        measure("transform/interpreter x$runs", 0) { repeat(runs) { JIntepreter(script).run(arguments) } }
+        measure("transform/closures x$runs", 0) { repeat(runs) { closures.run(arguments) } }
+        measure("transform/bytecode x$runs", 0) { repeat(runs) { bytecode.run(arguments) } }
+    }
+
+    // Script gerado com size / 20 atribuições encadeadas, sem documentos: mede validação e arranque.
+    private fun benchmarkStartup(size: Int) {
+        val assignments = maxOf(1, size / 20)
+        val script = JScript(listOf(JAssign("v0", JValueExpression(JNumber(1)))) +
+            (1 until assignments).map { JAssign("v$it", JVariable("v${it - 1}")) })
+        measure("startup/validate x$assignments", 0) { script.validate() }
+        measure("startup/interpreter x$assignments", 0) { JIntepreter(script).run(emptyList()) }
+        measure("startup/closures x$assignments", 0) { JCompiler.compile(script).run(emptyList()) }
+        measure("startup/bytecode x$assignments", 0) { JCompiler.compile(script, backend = JBackend.BYTECODE).run(emptyList()) }
+    }
+
+    // Vários agregados independentes sobre o mesmo array grande, com 1 thread e com todos os processadores.
+    private fun benchmarkParallel(size: Int) {
+        val columnar = JsonReader.parse(generateDocument(size).also { it.deleteOnExit() }) as JObject
+        val doc = JObject(listOf(JField("ucs", JArray(ArrayList((columnar["ucs"] as JArray).elements)))))
+        val operators = listOf("SUM", "MAX", "MIN", "AVG")
+        val script = JScript(listOf("creditos", "horas").flatMap { field ->
+            operators.map { JAssign("$field$it", JOperationsAccess(JPropertyAccess("doc", listOf("ucs", field)), it)) }
+        })
+        val threads = Runtime.getRuntime().availableProcessors()
+        for (parallelism in listOf(1, threads)) {
+            val interpreter = JIntepreter(script, JOptions(parallelism = parallelism))
+            measure("aggregates/threads=$parallelism", 0) {
+                interpreter.memory["doc"] = doc
+                interpreter.run(emptyList())
+            }
+        }
+    }
+
+    // 50 caminhos doc.ucs.campoN sobre o mesmo array, cada um percorrendo-o ou com a cache partilhada.
+    private fun benchmarkPaths(size: Int) {
+        val names = (0 until 50).map { "extra$it" }
+        val file = generateDocument(size / 20, extraFields = names.size)
+        val doc = JsonReader.parse(file) as JObject
+        val rows = JObject(listOf(JField("ucs", JArray(ArrayList((doc["ucs"] as JArray).elements)))))
+        measure("paths/separate", 0) { names.map { JOperations.path(rows, "ucs", it) } }
+        measure("paths/cached", 0) { JPathCache().let { cache -> names.map { cache.path(rows, "ucs", it, names) } } }
+        file.delete()
+    }
+
+    // Os cinco operadores sobre dois campos de doc.ucs: um array intermédio por agregado ou uma só passagem.
+    private fun benchmarkFused(size: Int) {
+        val file = generateDocument(size)
+        val doc = JsonReader.parse(file) as JObject
+        val rows = JObject(listOf(JField("ucs", JArray(ArrayList((doc["ucs"] as JArray).elements)))))
+        val fields = listOf("creditos", "horas")
+        val operators = JOperations.OPERATORS
+        measure("aggregates/separate", 0) {
+            fields.flatMap { field -> operators.map { JOperations.aggregate(it, JOperations.path(rows, "ucs", field)) } }
+        }
+        measure("aggregates/fused", 0) {
+            JPathCache().let { cache -> fields.flatMap { field -> operators.map { cache.aggregate(rows, "ucs", field, it, fields) } } }
+        }
+        file.delete()
+    }
+
+    // SUM e MAX sobre uma coluna de size * 50 decimais e sobre a mesma lista de JValue, sequencial e em fork/join.
+    private fun benchmarkForkJoin(size: Int) {
+        val values = DoubleArray(size * 50) { it * 0.1 }
+        val column = JDoubleColumn(values, java.util.BitSet())
+        val boxed = ArrayList<JValue>(column)
+        val pool = java.util.concurrent.ForkJoinPool(Runtime.getRuntime().availableProcessors())
+        for ((name, elements) in listOf("column" to column, "boxed" to boxed)) {
+            measure("sum/$name/sequential", 0) { JAccumulator.aggregate("SUM", elements) }
+            measure("sum/$name/forkjoin", 0) { JAccumulator.aggregate("SUM", elements, pool) }
+        }
+        pool.shutdown()
+    }
+
+    // doc.cursos.ucs.aulas.horas sobre size / 10 aulas: um nível de cada vez, copiando as listas intermédias
+    // como fariam atribuições encadeadas, ou com um JPathPlan.
+    private fun benchmarkDeep(size: Int) {
+        val file = File.createTempFile("jql-deep", ".json")
+        file.bufferedWriter().use { out ->
+            out.write("{\"cursos\":[")
+            for (c in 0 until maxOf(1, size / 1000)) {
+                if (c > 0) out.write(",")
+                out.write((0 until 20).joinToString(",", "{\"ucs\":[", "]}") { u ->
+                    (0 until 5).joinToString(",", "{\"sigla\":\"UC$u\",\"aulas\":[", "]}") { "{\"horas\":${(c + u + it) % 4}}" }
+                })
+            }
+            out.write("]}")
+        }
+        val doc = JsonReader.parse(file)
+        val names = listOf("cursos", "ucs", "aulas", "horas")
+        val plan = JPathPlan(names)
+        measure("deep/levels", 0) {
+            var values: List<JValue> = listOf((doc as JObject)[names[0]]!!)
+            for (name in names.drop(1)) {
+                values = values.flatMap { value -> (value as JArray).elements.mapNotNull { (it as? JObject)?.get(name) } }
+            }
+            JAccumulator.aggregate("SUM", values)
+        }
+        measure("deep/plan", 0) { plan.aggregate("SUM", doc) }
+        file.delete()
+    }
+
+    // doc.ucs[creditos > 5].horas | SUM: filtrando para um array e agregando depois, ou tudo numa passagem.
+    private fun benchmarkFilter(size: Int) {
+        val file = generateDocument(size)
+        val doc = JsonReader.parse(file) as JObject
+        val predicate = JPredicate(listOf(JComparison("creditos", ">", JLong(5))))
+        val plan = JPathPlan(listOf("ucs", "horas"), mapOf(1 to predicate))
+        measure("filter/materialized", 0) {
+            val kept = JArray((doc["ucs"] as JArray).elements.filter { predicate.test(it) })
+            JOperations.aggregate("SUM", JOperations.path(JObject(listOf(JField("ucs", kept))), "ucs", "horas"))
+        }
+        measure("filter/fused", 0) { plan.aggregate("SUM", doc) }
+        file.delete()
+    }
+
+    // doc.ucs.creditos | SUM BY sigla com poucas (100) e muitas (até size / 4) chaves diferentes, por ordem aleatória:
+    // HashMap de JAccumulator, JGroupTable sobre o mesmo ciclo e o JPathPlan completo.
+    private fun benchmarkGroupBy(size: Int) {
+        for ((name, keys) in listOf("few" to 100, "many" to size / 4)) {
+            val random = java.util.Random(1)
+            val rows = JArray((0 until size).map { JObject(listOf(JField("sigla", JString("UC${random.nextInt(keys)}")), JField("creditos", JNumber(it % 12)))) })
+            val doc = JObject(listOf(JField("ucs", rows)))
+            val plan = JPathPlan(listOf("ucs", "creditos"))
+            measure("groupby/$name/hashmap", 0) {
+                val groups = LinkedHashMap<JValue, JAccumulator>()
+                for (row in rows.elements) {
+                    row as JObject
+                    groups.getOrPut(row["sigla"]!!) { JAccumulator("SUM") }.add(row["creditos"]!!)
+                }
+                JObject(groups.map { (key, accumulator) -> JField((key as JString).value, accumulator.result()) })
+            }
+            measure("groupby/$name/table", 0) {
+                val groups = JGroupTable("SUM")
+                for (row in rows.elements) {
+                    row as JObject
+                    groups.add(row["sigla"]!!, row["creditos"]!!)
+                }
+                groups.result()
+            }
+            measure("groupby/$name/plan", 0) { plan.group("SUM", doc, "sigla") }
+        }
+    }
+
+    // doc.ucs | SORT BY horas e doc.ucs | TOP 10 BY horas: comparando JNumbers ou com as chaves num LongArray e um heap.
+    private fun benchmarkSort(size: Int) {
+        val random = java.util.Random(1)
+        val rows = (0 until size).map { JObject(listOf(JField("sigla", JString("UC$it")), JField("horas", JNumber(random.nextInt(1000) / 8.0)))) }
+        val horas = { row: JValue -> ((row as JObject)["horas"] as JNumber).toDouble() }
+        measure("sort/boxed", 0) { rows.sortedWith(compareBy(horas)) }
+        measure("sort/primitive", 0) { JSort.sort(rows, "horas", false) }
+        measure("top/sorted", 0) { rows.sortedWith(compareByDescending(horas)).take(10) }
+        measure("top/heap", 0) { JSort.top(rows, "horas", 10) }
+    }
+
+    // doc.ucs.sigla | DISTINCT com até size / 4 siglas diferentes, por ordem aleatória: LinkedHashSet de JValue,
+    // JDistinct sobre a coluna de strings e a estimativa do JHyperLogLog.
+    private fun benchmarkDistinct(size: Int) {
+        val random = java.util.Random(1)
+        val rows = JsonReader.parse((0 until size).joinToString(",", "{\"ucs\": [", "]}") { "{\"sigla\": \"UC${random.nextInt(size / 4)}\"}" })
+        val siglas = JOperations.path(rows, "ucs", "sigla") as JArray
+        measure("distinct/column", 0) { JDistinct.distinct(siglas.elements) }
+        measure("distinct/hashset", 0) { LinkedHashSet(siglas.elements).toList() }
+        measure("distinct/approximate", 0) { JDistinct.approximateCount(siglas.elements) }
+    }
+
+    // doc.pedidos.ms | P95: ordenando uma cópia dos valores ou com o JQuantileSketch (KLL) numa passagem.
+    private fun benchmarkQuantile(size: Int) {
+        val random = java.util.Random(1)
+        val values = List<JValue>(size) { JDouble(-Math.log(1 - random.nextDouble()) * 40) }
+        measure("quantile/sorted", 0) {
+            val sorted = DoubleArray(size) { (values[it] as JDouble).value }.apply { sort() }
+            sorted[Math.ceil(0.95 * size).toInt() - 1]
+        }
+        measure("quantile/sketch", 0) { JAccumulator.aggregate("P95", values) }
+    }
+
+    // join a.ucs, b.notas on sigla = uc com size UCs e 10 * size notas, cada nota com uma UC ao acaso: HashMap de
+    // listas sobre as UCs e o JHashJoin, que numera as chaves do lado mais pequeno e encadeia as posições num IntArray.
+    private fun benchmarkJoin(size: Int) {
+        val random = java.util.Random(1)
+        val ucs = List<JValue>(size) { JObject(listOf(JField("sigla", JString("UC$it")), JField("creditos", JNumber(it % 12)))) }
+        val notas = List<JValue>(size * 10) { JObject(listOf(JField("uc", JString("UC${random.nextInt(size)}")), JField("nota", JNumber(random.nextInt(21))))) }
+        measure("join/hashmap", 0) {
+            val bySigla = HashMap<JValue, MutableList<JObject>>()
+            for (uc in ucs) bySigla.getOrPut((uc as JObject)["sigla"]!!) { ArrayList(1) }.add(uc)
+            val result = ArrayList<JValue>()
+            for (nota in notas) {
+                nota as JObject
+                bySigla[nota["uc"]!!]?.forEach { uc -> result.add(JObject(uc.fields + nota.fields.filter { uc[it.name] == null })) }
+            }
+            result
+        }
+        measure("join/hash", 0) { JHashJoin.join(ucs, notas, "sigla", "uc") }
+    }
+
+    fun generateDocument(ucs: Int, extraFields: Int = 0): File {
+        val file = File.createTempFile("jql-bench", ".json")
+        file.bufferedWriter().use { out ->
+            out.write("{\"curso\":\"LEI\",\"ucs\":[")
+            for (i in 0 until ucs) {
+                if (i > 0) out.write(",")
+                out.write("{\"sigla\":\"UC$i\",\"creditos\":${i % 12},\"horas\":${(i % 40) / 8.0}")
+                for (f in 0 until extraFields) out.write(",\"extra$f\":\"valor $f da uc $i\"")
+                out.write("}")
+            }
+            out.write("]}")
+        }
+        return file
+    }
+
+    fun measure(name: String, bytes: Long, block: () -> Any?) {
+        repeat(WARMUP) { block() }
+        var sink = 0
+        val start = System.nanoTime()
+        repeat(ITERATIONS) { if (block() != null) sink++ }
+        val perIteration = (System.nanoTime() - start) / ITERATIONS / 1e6
+        val throughput = if (bytes > 0) "%.1f MB/s".format(bytes / 1e6 / (perIteration / 1e3)) else "%.0f op/s".format(1e3 / perIteration)
+        println("%-28s %10.2f ms/op %14s  (%d)".format(name, perIteration, throughput, sink))
+    }
+}
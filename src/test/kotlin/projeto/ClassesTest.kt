@@ -4,8 +4,10 @@ import org.antlr.v4.runtime.CharStreams
 import org.antlr.v4.runtime.CommonTokenStream
 import org.junit.jupiter.api.BeforeEach
 import java.io.File
+import java.util.concurrent.ForkJoinPool
 import kotlin.test.Test
 import kotlin.test.assertEquals
+import kotlin.test.assertTrue
 
 class ClassesTest {
 
@@ -210,4 +212,167 @@ class ClassesTest {
         assertEquals(JNumber(3), interpreter.memory["total"])
     }
 
-}
\ No newline at end of file
+    @Test
+    fun `object lookup keeps the first field with a name`() {
+        val fields = (0 until 20).map { JField("f$it", JNumber(it)) } + JField("f3", JString("duplicado"))
+        val objeto = JObject(fields)
+
+        assertEquals(JNumber(3), objeto["f3"])
+        assertEquals(JNumber(19), objeto["f19"])
+        assertEquals(null, objeto["nada"])
+        assertEquals(JString("IP"), JObject(listOf(JField("sigla", JString("IP"))))["sigla"])
+    }
+
+    @Test
+    fun `validation reports each problem once`() {
+        val script = JScript(listOf(
+            JLoad("\$1", "doc"),
+            JAssign("horas", JPropertyAccess("doc", listOf("ucs", "horario", "horas"))),
+            JAssign("resumo", JValueExpression(JObject(listOf(JField("total", JVariable("total")))))),
+            JSave("\$2", "nada")
+        ))
+        val expected = listOf(JVarError("total", 3), JVarError("nada", 4))
+
+        assertEquals(expected, script.validate())
+        JIntepreter(script).run(listOf("src/files/lei.json", "nenhum.json"))
+        assertEquals(expected, script.errorsList.take(2))
+    }
+
+    @Test
+    fun `top counts that are not positive integers are diagnostics`() {
+        val text = """
+            load ${'$'}1 to doc
+            a = doc.ucs | TOP 2.5 BY horas
+            b = doc.ucs | TOP 0
+            c = join doc.ucs | TOP 99999999999, doc.ucs on sigla = sigla
+            d = doc.ucs | TOP 2 BY horas
+        """
+        val script = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromString(text)))).script().toAst()
+
+        assertEquals(listOf(JCountError("TOP", 2), JCountError("TOP", 3), JCountError("TOP", 4)), script.validate())
+        assertEquals("TOP requires a positive integer count", script.validate()[0].message)
+    }
+
+    @Test
+    fun `filters that compare with a variable are diagnostics`() {
+        val text = """
+            load ${'$'}1 to doc
+            limite = 6
+            a = doc.ucs[creditos > limite].sigla
+            b = doc.ucs[ano == 2 and sigla == IP] | COUNT
+            c = join doc.ucs, doc.ucs[horas < limite] on sigla = sigla
+            d = doc.ucs[creditos > 6 and ativa == true] | SORT BY creditos
+        """
+        val script = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromString(text)))).script().toAst()
+
+        assertEquals(JComparison("creditos", ">", JVariable("limite")), ((script.instructions[2] as JAssign).expression as JPropertyAccess).filters.values.single().comparisons.single())
+        assertEquals(listOf(JFilterError("limite", 3), JFilterError("IP", 4), JFilterError("limite", 5)), script.validate())
+        assertEquals("Filters compare with literals, found: limite", script.validate()[0].message)
+    }
+
+    @Test
+    fun `integer sums are exact and keep their type`() {
+        val big = JArray(listOf(JLong(Long.MAX_VALUE - 1), JLong(1), JLong(-2)))
+        val mixed = JArray(listOf(JLong(6), JDouble(4.5)))
+
+        assertEquals(JLong(Long.MAX_VALUE - 2), JAccumulator.aggregate("SUM", big.elements))
+        assertEquals("10.5", JAccumulator.aggregate("SUM", mixed.elements).toString())
+        assertEquals("6", JAccumulator.aggregate("MAX", listOf<JValue>(JLong(6), JLong(2))).toString())
+        assertEquals<JValue>(JDouble(6.0), JLong(6))
+        assertEquals("[\n  6,\n  4.5\n]", JsonReader.parse("[6, 4.5]").prettyString("  "))
+    }
+
+    @Test
+    fun `parallel aggregates match the sequential ones`() {
+        val size = JParallelAggregate.SEQUENTIAL_CUTOFF * 5 + 3
+        val tenths = List<JValue>(size) { JDouble(0.1) }
+        val mixed = List<JValue>(size) { if (it % 7 == 0) JDouble(it / 4.0) else JLong(it % 1000L - 500) }
+        val rows = JsonReader.parse((0 until size).joinToString(",", "{\"ucs\": [", "]}") { "{\"c\": ${it % 13}, \"h\": ${it / 8.0}}" })
+        val pool = ForkJoinPool(4)
+
+        for (operator in JOperations.OPERATORS) {
+            for (elements in listOf(tenths, mixed)) {
+                assertEquals(JAccumulator.aggregate(operator, elements), JAccumulator.aggregate(operator, elements, pool), operator)
+            }
+            for ((k, accumulator) in JOperations.accumulate(rows, "ucs", listOf("c", "h"), pool).withIndex()) {
+                assertEquals(JOperations.accumulate(rows, "ucs", listOf("c", "h"))[k].result(operator), accumulator.result(operator), operator)
+            }
+        }
+        // Sem compensação a soma de 0.1 desviava-se de size / 10.
+        assertEquals<JValue>(JDouble(size / 10.0), JAccumulator.aggregate("SUM", tenths, pool))
+        pool.shutdown()
+    }
+
+    @Test
+    fun `distinct keeps the first of each value and the sketch estimates its count`() {
+        val mixed = listOf(JLong(6), JString("IP"), JDouble(6.0), JNull, JString("IP"), JDouble(4.5), JNull)
+        assertEquals(listOf(JLong(6), JString("IP"), JNull, JDouble(4.5)), JDistinct.distinct(mixed))
+        // As colunas usam conjuntos próprios, com o mesmo resultado.
+        val rows = JsonReader.parse("""[{"n": 3, "d": 1.5, "s": "a"}, {"n": 3, "d": 2, "s": null}, {"n": 7, "d": 2.0, "s": "a"}]""") as JArray
+        val columns = rows.elements as JColumnarRows
+        for (name in listOf("n", "d", "s")) {
+            val values = rows.elements.map { (it as JObject)[name]!! }
+            assertEquals(values.distinct(), JDistinct.distinct(columns.column(name)!!), name)
+        }
+
+        val size = 1_000_000
+        val values = List<JValue>(size) { JString("sigla${it % 300_000}") }
+        val pool = ForkJoinPool(4)
+        val estimate = JDistinct.approximateCount(values, pool)
+        // Erro padrão de 0,81% com a precisão 14; 4% são cerca de 5 erros padrão.
+        assertTrue(Math.abs(estimate - 300_000) < 300_000 * 0.04, "$estimate")
+        assertEquals(estimate, JDistinct.approximateCount(values))
+        // Com poucos valores a contagem linear fica muito mais perto.
+        val small = JDistinct.approximateCount(List(5000) { JLong(it % 1000L) })
+        assertTrue(Math.abs(small - 1000) < 30, "$small")
+        pool.shutdown()
+    }
+
+    @Test
+    fun `distinct sketches built separately merge`() {
+        // O hash depende só do conteúdo: estes valores são os mesmos em qualquer processo.
+        assertEquals(-5187938499138476537L, JHyperLogLog.hash(JNull))
+        assertEquals(-1706819287460639110L, JHyperLogLog.hash(JBoolean(true)))
+        assertEquals(-4427917439212102477L, JHyperLogLog.hash(JsonReader.parse("""{"a": [1, null, false]}""")))
+
+        val text = (0 until 3000).joinToString(",", "[", "]") { i ->
+            when (i % 5) {
+                0 -> "null"
+                1 -> "${i % 2 == 0}"
+                2 -> "[${i % 700}, \"x\"]"
+                3 -> "{\"id\": ${i % 900}, \"ok\": true}"
+                else -> "${i % 1000}"
+            }
+        }
+        // Cada parte é lida à parte, como dois ficheiros, e o sketch junto é igual ao de todos os valores.
+        val parts = listOf(0 until 1700, 1300 until 3000).map { range ->
+            val values = (JsonReader.parse(text) as JArray).elements
+            JHyperLogLog().apply { range.forEach { add(values[it]) } }
+        }
+        val whole = JHyperLogLog().apply { (JsonReader.parse(text) as JArray).elements.forEach { add(it) } }
+        parts[0].merge(parts[1])
+
+        assertEquals(whole.estimate(), parts[0].estimate())
+        val exact = (JsonReader.parse(text) as JArray).elements.toSet().size
+        assertTrue(Math.abs(whole.estimate() - exact) < exact * 0.02, "${whole.estimate()} $exact")
+    }
+
+    @Test
+    fun `quantiles are exact for small inputs and merge across parts`() {
+        assertEquals<JValue>(JLong(2), JAccumulator.aggregate("MEDIAN", listOf(JLong(4), JLong(1), JLong(3), JLong(2))))
+        assertEquals<JValue>(JDouble(9.5), JAccumulator.aggregate("P99", (1..10).map { JDouble(it - 0.5) }))
+
+        val size = 2_000_000
+        val values = List<JValue>(size) { JLong((it * 1_000_003L) % size) }
+        val pool = ForkJoinPool(4)
+        for ((operator, q) in JOperations.QUANTILE_OPERATORS) {
+            // Em paralelo cada parte tem o seu sketch; juntos continuam dentro do erro do KLL.
+            for (result in listOf(JAccumulator.aggregate(operator, values), JAccumulator.aggregate(operator, values, pool))) {
+                val value = (result as JLong).value
+                assertTrue(Math.abs(value - q * size) < size * 0.017, "$operator $value")
+            }
+        }
+        pool.shutdown()
+        assertTrue(runCatching { JAccumulator.aggregate("P90", listOf(JString("x"))) }.exceptionOrNull() is NoSuchElementException)
+    }
+}
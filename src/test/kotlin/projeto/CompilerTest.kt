@@ -0,0 +1,424 @@
+package projeto
+
+import org.antlr.v4.runtime.CharStreams
+import org.antlr.v4.runtime.CommonTokenStream
+import java.io.File
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class CompilerTest {
+
+    private fun parse(path: String): JScript {
+        val parser = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromFileName(path))))
+        return parser.script().toAst()
+    }
+
+    @Test
+    fun `compiled script matches the interpreter`() {
+        val script = parse("src/files/teste.jql")
+        val output = File.createTempFile("jql-compiled", ".json")
+        val interpreter = JIntepreter(script)
+        interpreter.run(listOf("src/files/lei.json", output.path))
+
+        for (backend in JBackend.values()) {
+            val frame = JCompiler.compile(script, backend = backend).run(listOf("src/files/lei.json", output.path))
+
+            assertEquals(interpreter.memory, frame.memory, "$backend")
+            assertEquals(JNumber(18), frame["creditos"])
+        }
+        output.delete()
+    }
+
+    @Test
+    fun `compiled script is reused with different arguments`() {
+        val first = File.createTempFile("jql-first", ".json")
+        val second = File.createTempFile("jql-second", ".json")
+        first.writeText("""{"curso": "LEI", "ucs": [{"creditos": 6}, {"creditos": 5}]}""")
+        second.writeText("""{"curso": "MEI", "ucs": [{"creditos": 10}]}""")
+        val script = JScript(listOf(
+            JLoad("\$1", "doc"),
+            JAssign("creditos", JOperationsAccess(JPropertyAccess("doc", listOf("ucs", "creditos")), "SUM"))
+        ))
+
+        for (backend in JBackend.values()) {
+            val compiled = JCompiler.compile(script, JOptions(fullMemory = false), backend)
+            assertEquals(JNumber(11), compiled.run(listOf(first.path))["creditos"])
+            assertEquals(JNumber(10), compiled.run(listOf(second.path))["creditos"])
+        }
+        first.delete()
+        second.delete()
+    }
+
+    @Test
+    fun `compiled script stops at the first error`() {
+        val script = JScript(listOf(
+            JAssign("a", JValueExpression(JString("x"))),
+            JAssign("b", JOperationsAccess(JVariable("a"), "SUM")),
+            JAssign("c", JVariable("a"))
+        ))
+
+        for (backend in JBackend.values()) {
+            val frame = JCompiler.compile(script, backend = backend).run(emptyList())
+
+            assertEquals(listOf<JError>(JVarError("a | SUM", 1), JVarError("b = a | SUM", 2)), frame.errors)
+            assertEquals(null, frame["c"])
+        }
+    }
+
+    @Test
+    fun `array literals read their variables like object literals`() {
+        val script = JScript(listOf(
+            JAssign("a", JValueExpression(JString("x"))),
+            JAssign("b", JValueExpression(JObject(listOf(JField("nome", JVariable("a")))))),
+            JAssign("lista", JArray(listOf(JVariable("a"), JLong(2), JArray(listOf(JVariable("b"))), JObject(listOf(JField("b", JVariable("b"))))))),
+            JAssign("falta", JArray(listOf(JVariable("c"))))
+        ))
+        val interpreter = JIntepreter(script)
+        interpreter.run(emptyList())
+        val nome = JObject(listOf(JField("nome", JString("x"))))
+        assertEquals(JArray(listOf(JString("x"), JLong(2), JArray(listOf(nome)), JObject(listOf(JField("b", nome))))), interpreter.memory["lista"])
+        assertEquals(listOf(JVarError("c", 4)), script.validate())
+
+        for (backend in JBackend.values()) {
+            val frame = JCompiler.compile(script, backend = backend).run(emptyList())
+            assertEquals(interpreter.memory, frame.memory, "$backend")
+            assertEquals(JVarError("c", 3), frame.errors[1], "$backend")
+        }
+    }
+
+    @Test
+    fun `deep paths flatten nested arrays in every backend`() {
+        val file = File.createTempFile("jql-deep", ".json")
+        file.writeText("""{"info": {"escola": {"nome": "ISTA"}}, "cursos": [
+            {"ucs": [{"aulas": [{"horas": 2}, {"horas": 1.5}]}, {"aulas": {"horas": 3}}, {"outro": 1}]},
+            {"ucs": {"aulas": [{"horas": 4}, 7]}}, 5
+        ]}""")
+        val script = JScript(listOf(
+            JLoad("\$1", "doc"),
+            JAssign("nome", JPropertyAccess("doc", listOf("info", "escola", "nome"))),
+            JAssign("horas", JPropertyAccess("doc", listOf("cursos", "ucs", "aulas", "horas"))),
+            JAssign("total", JOperationsAccess(JPropertyAccess("doc", listOf("cursos", "ucs", "aulas", "horas")), "SUM")),
+            JAssign("falta", JPropertyAccess("doc", listOf("info", "autor", "nome")))
+        ))
+        val interpreter = JIntepreter(script)
+        interpreter.run(listOf(file.path))
+
+        assertEquals(JString("ISTA"), interpreter.memory["nome"])
+        assertEquals(JArray(listOf(JNumber(2), JNumber(1.5), JNumber(3), JNumber(4))), interpreter.memory["horas"])
+        assertEquals(JNumber(10.5), interpreter.memory["total"])
+        assertEquals(JVarError("doc.info.autor.nome", 4), script.errorsList.first())
+        for (backend in JBackend.values()) {
+            val frame = JCompiler.compile(script, backend = backend).run(listOf(file.path))
+            assertEquals(interpreter.memory, frame.memory, "$backend")
+            assertEquals(script.errorsList, frame.errors, "$backend")
+        }
+        file.delete()
+    }
+
+    @Test
+    fun `filters select elements during traversal in every backend`() {
+        val file = File.createTempFile("jql-filter", ".json")
+        file.writeText("""{"ucs": [
+            {"sigla": "IP", "creditos": 6, "horas": 4, "opcional": false},
+            {"sigla": "ELP", "creditos": 6, "horas": 3.5, "opcional": true},
+            {"sigla": "AED", "creditos": 5, "horas": 2, "opcional": false}
+        ]}""")
+        val text = """
+            load ${'$'}1 to doc
+            fortes = doc.ucs[creditos > 5].sigla
+            horas = doc.ucs[creditos >= 6 and sigla != "ELP"].horas | SUM
+            obrigatorias = doc.ucs[opcional == false] | COUNT
+            nenhuma = doc.ucs[creditos > 100]
+        """
+        val script = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromString(text)))).script().toAst()
+        val interpreter = JIntepreter(script)
+        interpreter.run(listOf(file.path))
+
+        assertEquals("doc.ucs[creditos >= 6 and sigla != \"ELP\"].horas | SUM", (script.instructions[2] as JAssign).expression.toString())
+        assertEquals(JArray(listOf(JString("IP"), JString("ELP"))), interpreter.memory["fortes"])
+        assertEquals(JNumber(4), interpreter.memory["horas"])
+        assertEquals(JNumber(2), interpreter.memory["obrigatorias"])
+        assertEquals(JArray(emptyList()), interpreter.memory["nenhuma"])
+        for (backend in JBackend.values()) {
+            val frame = JCompiler.compile(script, backend = backend).run(listOf(file.path))
+            assertEquals(interpreter.memory, frame.memory, "$backend")
+        }
+        // Sobre colunas o filtro lê os campos sem construir as linhas.
+        val ucs = JsonReader.parse(file) as JObject
+        val rows = JObject(listOf(JField("ucs", JArray(ArrayList((ucs["ucs"] as JArray).elements)))))
+        val path = (script.instructions[1] as JAssign).expression as JPropertyAccess
+        assertTrue((ucs["ucs"] as JArray).elements is JColumnarRows)
+        assertEquals(JPathPlan(path).evaluate(rows), JPathPlan(path).evaluate(ucs))
+        file.delete()
+    }
+
+    @Test
+    fun `reserved words still name variables and fields`() {
+        val file = File.createTempFile("jql-names", ".json")
+        file.writeText("""{"and": "x", "DISTINCT": "y", "lat": [{"P99": 9, "MEDIAN": 1}, {"P99": 4, "MEDIAN": 2}], "ucs": [{"and": 2, "c": 6, "BY": "a"}, {"and": 1, "c": 6, "BY": "b"}, {"and": 3, "c": 5, "BY": "a"}]}""")
+        val text = """
+            load ${'$'}1 to doc
+            and = doc.and
+            n = doc.ucs[and > 1 and c == 6] | COUNT
+            valores = doc.ucs.and
+            copia = and
+            grupos = doc.ucs.c | SUM BY BY
+            BY = doc.ucs | COUNT
+            SORT = doc.ucs.and | SORT
+            DESC = doc.ucs | SORT BY DESC
+            TOP = doc.ucs.and | TOP 1
+            on = doc.ucs
+            join = join on, doc.ucs on and = and
+            pares = join join, on on on = on
+            lados = join | COUNT
+            load ${'$'}1 to DISTINCT
+            unico = DISTINCT.DISTINCT
+            APPROX_DISTINCT = DISTINCT.ucs.c | DISTINCT
+            estimativa = APPROX_DISTINCT | APPROX_DISTINCT
+            P99 = doc.lat.P99
+            MEDIAN = doc.lat.MEDIAN | SUM
+            P50 = doc.ucs.c | P50
+            P95 = P50
+            P90 = DISTINCT.lat.MEDIAN | P90
+        """
+        val script = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromString(text)))).script().toAst()
+        assertEquals(JAssign("and", JPropertyAccess("doc", listOf("and"))), script.instructions[1])
+        assertEquals("doc.ucs[and > 1 and c == 6] | COUNT", (script.instructions[2] as JAssign).expression.toString())
+        val interpreter = JIntepreter(script)
+        interpreter.run(listOf(file.path))
+
+        assertEquals(JString("x"), interpreter.memory["copia"])
+        assertEquals(JNumber(1), interpreter.memory["n"])
+        assertEquals(JArray(listOf(JNumber(2), JNumber(1), JNumber(3))), interpreter.memory["valores"])
+        assertEquals(JObject(listOf(JField("a", JNumber(11)), JField("b", JNumber(6)))), interpreter.memory["grupos"])
+        assertEquals(JNumber(3), interpreter.memory["BY"])
+        assertEquals(JArray(listOf(JNumber(1), JNumber(2), JNumber(3))), interpreter.memory["SORT"])
+        assertEquals(JSortAccess(JPropertyAccess("doc", listOf("ucs")), "DESC"), (script.instructions[8] as JAssign).expression)
+        assertEquals(JArray(listOf(JNumber(3))), interpreter.memory["TOP"])
+        assertEquals(JJoin(JPropertyAccess("join", emptyList()), JPropertyAccess("on", emptyList()), "on", "on"), (script.instructions[12] as JAssign).expression)
+        assertEquals(JNumber(3), interpreter.memory["lados"])
+        assertEquals(JString("y"), interpreter.memory["unico"])
+        assertEquals(JArray(listOf(JNumber(6), JNumber(5))), interpreter.memory["APPROX_DISTINCT"])
+        assertEquals(JNumber(2), interpreter.memory["estimativa"])
+        assertEquals(JArray(listOf(JNumber(9), JNumber(4))), interpreter.memory["P99"])
+        assertEquals(JNumber(3), interpreter.memory["MEDIAN"])
+        assertEquals(JNumber(6), interpreter.memory["P95"])
+        for (backend in JBackend.values()) {
+            assertEquals(interpreter.memory, JCompiler.compile(script, backend = backend).run(listOf(file.path)).memory, "$backend")
+        }
+        file.delete()
+    }
+
+    @Test
+    fun `group by aggregates per key in every backend`() {
+        val file = File.createTempFile("jql-group", ".json")
+        file.writeText("""{"ucs": [
+            {"sigla": "IP", "area": "INF", "creditos": 6},
+            {"sigla": "AM", "area": "MAT", "creditos": 7.5},
+            {"sigla": "POO", "area": "INF", "creditos": 6},
+            {"sigla": "X", "creditos": 1}
+        ]}""")
+        val text = """
+            load ${'$'}1 to doc
+            creditos = doc.ucs.creditos | SUM BY area
+            total = doc.ucs[creditos > 6] | COUNT BY area
+        """
+        val script = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromString(text)))).script().toAst()
+        val interpreter = JIntepreter(script)
+        interpreter.run(listOf(file.path))
+
+        assertEquals(JOperationsAccess(JPropertyAccess("doc", listOf("ucs", "creditos")), "SUM", "area"), (script.instructions[1] as JAssign).expression)
+        assertEquals(JObject(listOf(JField("INF", JNumber(12)), JField("MAT", JNumber(7.5)))), interpreter.memory["creditos"])
+        assertEquals(JObject(listOf(JField("MAT", JNumber(1)))), interpreter.memory["total"])
+        for (backend in JBackend.values()) {
+            val frame = JCompiler.compile(script, backend = backend).run(listOf(file.path))
+            assertEquals(interpreter.memory, frame.memory, "$backend")
+        }
+        // Muitas chaves diferentes obrigam a tabela a crescer várias vezes.
+        val rows = JArray((0 until 50_000).map { JObject(listOf(JField("k", JNumber(it % 20_011)), JField("v", JNumber(it)))) })
+        val grouped = JPathPlan(listOf("ucs", "v")).group("MAX", JObject(listOf(JField("ucs", rows))), "k")
+        val expected = rows.elements.groupBy { (it as JObject)["k"]!! }.map { (key, group) -> JField(key.prettyString(), group.maxOf { ((it as JObject)["v"] as JNumber).toDouble() }.let { JNumber(it.toLong()) }) }
+        assertEquals(JObject(expected), grouped)
+
+        // Chaves de tipos diferentes com o mesmo nome de campo ficam num só grupo, sem campos repetidos.
+        val mixed = JsonReader.parse("""{"ucs": [{"k": "6", "v": 1}, {"k": 6, "v": 2}, {"k": 6.0, "v": 3}, {"k": null, "v": 4},
+            {"k": "null", "v": 5}, {"k": true, "v": 6}, {"k": 7, "v": 7}]}""")
+        assertEquals(
+            JObject(listOf(JField("6", JNumber(6)), JField("null", JNumber(9)), JField("true", JNumber(6)), JField("7", JNumber(7)))),
+            JPathPlan(listOf("ucs", "v")).group("SUM", mixed, "k")
+        )
+        assertEquals(listOf("6", "null", "true", "7"), JPathPlan(listOf("ucs")).group("COUNT", mixed, "k").fields.map { it.name })
+        file.delete()
+    }
+
+    @Test
+    fun `sort, top, distinct and quantiles in every backend`() {
+        val file = File.createTempFile("jql-sort", ".json")
+        file.writeText("""{"ucs": [
+            {"sigla": "IP", "horas": 4.5},
+            {"sigla": "AM", "horas": 6},
+            {"sigla": "POO", "horas": 3},
+            {"sigla": "ED", "horas": 6},
+            {"sigla": "SO", "horas": null}
+        ]}""")
+        val text = """
+            load ${'$'}1 to doc
+            crescente = doc.ucs | SORT BY horas
+            decrescente = doc.ucs | SORT BY sigla DESC
+            maiores = doc.ucs | TOP 3 BY horas
+            horas = doc.ucs.horas | TOP 2
+            diferentes = doc.ucs.horas | DISTINCT
+            siglas = doc.ucs.sigla | APPROX_DISTINCT
+            mediana = doc.ucs.horas | MEDIAN
+        """
+        val script = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromString(text)))).script().toAst()
+        val interpreter = JIntepreter(script)
+        interpreter.run(listOf(file.path))
+
+        fun siglas(name: String) = (interpreter.memory[name] as JArray).elements.map { ((it as JObject)["sigla"] as JString).value }
+        assertEquals(JSortAccess(JPropertyAccess("doc", listOf("ucs")), "horas", 3), (script.instructions[3] as JAssign).expression)
+        assertEquals(listOf("POO", "IP", "AM", "ED", "SO"), siglas("crescente"))
+        assertEquals(listOf("SO", "POO", "IP", "ED", "AM"), siglas("decrescente"))
+        assertEquals(listOf("AM", "ED", "IP"), siglas("maiores"))
+        assertEquals(JArray(listOf(JNumber(6), JNumber(6))), interpreter.memory["horas"])
+        assertEquals(JArray(listOf(JNumber(4.5), JNumber(6), JNumber(3), JNull)), interpreter.memory["diferentes"])
+        assertEquals(JNumber(5), interpreter.memory["siglas"])
+        assertEquals(JNumber(4.5), interpreter.memory["mediana"])
+        for (backend in JBackend.values()) {
+            val frame = JCompiler.compile(script, backend = backend).run(listOf(file.path))
+            assertEquals(interpreter.memory, frame.memory, "$backend")
+        }
+        // Chaves numéricas com empates: o merge sort e o heap mantêm a ordem original, como sortedBy.
+        val random = java.util.Random(7)
+        val values = (0 until 10_000).map { if (it % 3 == 0) JNumber(random.nextInt(500) / 4.0) else JNumber(random.nextInt(200) - 100) }
+        val numeric = values.map { it.toDouble() }
+        assertEquals(values.indices.sortedBy { numeric[it] }.map { values[it] }, JSort.sort(values, null, false))
+        assertEquals(values.indices.sortedByDescending { numeric[it] }.take(50).map { values[it] }, JSort.top(values, null, 50))
+        file.delete()
+    }
+
+    @Test
+    fun `join combines records by key in every backend`() {
+        val ucs = File.createTempFile("jql-join", ".json")
+        ucs.writeText("""{"ucs": [
+            {"sigla": "IP", "creditos": 6},
+            {"sigla": "AM", "creditos": 6},
+            {"sigla": "POO", "creditos": 4.5},
+            {"creditos": 3}
+        ]}""")
+        val notas = File.createTempFile("jql-join", ".json")
+        notas.writeText("""{"notas": [
+            {"uc": "AM", "nota": 14, "creditos": 0},
+            {"uc": "IP", "nota": 12},
+            {"uc": "AM", "nota": 9},
+            {"uc": null, "nota": 20},
+            {"uc": "ED", "nota": 17},
+            {"nota": 11}
+        ]}""")
+        val text = """
+            load ${'$'}1 to a
+            load ${'$'}2 to b
+            juntas = join a.ucs, b.notas on sigla = uc
+            seis = join a.ucs[creditos == 6], b.notas on sigla = uc
+            iguais = join a.ucs, a.ucs on creditos = creditos
+        """
+        val script = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromString(text)))).script().toAst()
+        val interpreter = JIntepreter(script)
+        interpreter.run(listOf(ucs.path, notas.path))
+
+        fun rows(name: String) = (interpreter.memory[name] as JArray).elements.map { it as JObject }
+        assertEquals(JJoin(JPropertyAccess("a", listOf("ucs")), JPropertyAccess("b", listOf("notas")), "sigla", "uc"), (script.instructions[2] as JAssign).expression)
+        // A esquerda dá a ordem, mesmo sendo o lado mais pequeno; os campos repetidos ficam com o valor da esquerda.
+        assertEquals(listOf("IP" to 12L, "AM" to 14L, "AM" to 9L), rows("juntas").map { (it["sigla"] as JString).value to (it["nota"] as JLong).value })
+        assertEquals(listOf("sigla", "creditos", "uc", "nota"), rows("juntas")[1].fields.map { it.name })
+        assertEquals(JNumber(6), rows("juntas")[1]["creditos"])
+        assertEquals(3, rows("seis").size)
+        // 6 == 6.0 e cada uma das 2 UCs com 6 créditos junta-se às duas.
+        assertEquals(4 + 1 + 1, rows("iguais").size)
+        for (backend in JBackend.values()) {
+            val frame = JCompiler.compile(script, backend = backend).run(listOf(ucs.path, notas.path))
+            assertEquals(interpreter.memory, frame.memory, "$backend")
+        }
+
+        // Contra um nested loop pela ordem da esquerda, com o lado mais pequeno à esquerda e à direita.
+        val random = java.util.Random(3)
+        val small = List(200) { JObject(listOf(JField("k", JNumber(random.nextInt(50))), JField("s", JNumber(it)))) }
+        val large = List(2_000) { JObject(listOf(JField("id", JNumber(random.nextInt(80))), JField("l", JNumber(it)))) }
+        fun nested(left: List<JObject>, right: List<JObject>, leftKey: String, rightKey: String) =
+            left.flatMap { l -> right.filter { it[rightKey] == l[leftKey] }.map { JObject(l.fields + it.fields) } }
+        assertEquals(nested(small, large, "k", "id"), JHashJoin.join(small, large, "k", "id"))
+        assertEquals(nested(large, small, "id", "k"), JHashJoin.join(large, small, "id", "k"))
+        // A ordem não muda quando a direita passa a ser o lado mais pequeno.
+        val fewer = large.take(150)
+        assertEquals(JHashJoin.join(small, large, "k", "id").filter { it in nested(small, fewer, "k", "id") }, JHashJoin.join(small, fewer, "k", "id"))
+        ucs.delete()
+        notas.delete()
+    }
+
+    @Test
+    fun `batch runs every job once and isolates failures`() {
+        val text = """
+            load ${'$'}1 to doc
+            total = doc.ucs.creditos | SUM
+            save total to ${'$'}2
+        """
+        val script = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromString(text)))).script().toAst()
+        val inputs = (1..6).map { n ->
+            File.createTempFile("jql-batch", ".json").apply { writeText("""{"ucs": [{"creditos": $n}, {"creditos": 10}]}""") }
+        }
+        // O terceiro job lê um ficheiro que não existe.
+        val missing = File(inputs[0].parentFile, "jql-batch-missing.json")
+        val jobs = inputs.mapIndexed { i, input ->
+            listOf(if (i == 2) missing.path else input.path, File.createTempFile("jql-batch", ".out").path)
+        }
+        val workers = { Thread.getAllStackTraces().keys.count { it.isAlive && it.name.startsWith("ForkJoinPool-") } }
+        val before = workers()
+        val pool = java.util.concurrent.ForkJoinPool(2)
+        val options = listOf(JOptions(), JOptions(parallelism = 2, pool = pool))
+        val runs = options.flatMap { listOf(JBatch.job(script, it), JBatch.job(script, it, JBackend.CLOSURES), JBatch.job(script, it, JBackend.BYTECODE)) }
+        for (run in runs) {
+            val summary = JBatch(3, JBatch.inputs(script), run).run(jobs)
+            assertEquals(6, summary.jobs)
+            assertEquals(1, summary.failures)
+            assertEquals(5L, summary.files)
+            assertEquals(inputs.filterIndexed { i, _ -> i != 2 }.sumOf { it.length() }, summary.bytes)
+            jobs.forEachIndexed { i, (_, output) ->
+                if (i != 2) assertEquals("${i + 11}", File(output).readText())
+            }
+        }
+        assertTrue(script.errorsList.isEmpty())
+        // Com parallelism > 1 todos os jobs usaram o pool partilhado: só as suas threads ficaram.
+        assertTrue(workers() - before <= 2)
+        pool.shutdown()
+
+        val manifest = File.createTempFile("jql-batch", ".txt")
+        manifest.writeText("# entrada saída\n\n${jobs[0].joinToString(" ")}\n  ${jobs[1].joinToString("\t")}  \n")
+        assertEquals(jobs.take(2), JBatch.manifest(manifest))
+        (inputs + manifest + jobs.map { File(it[1]) }).forEach { it.delete() }
+    }
+
+    @Test
+    fun `a job that throws an error fails alone`() {
+        val script = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromString("load ${'$'}1 to doc\nsave doc to ${'$'}2")))).script().toAst()
+        val input = File.createTempFile("jql-batch", ".json").apply { writeText("[1]") }
+        val outputs = (0..3).map { File.createTempFile("jql-batch", ".out") }
+        val jobs = outputs.map { listOf(input.path, it.path) }
+        val job = JBatch.job(script, JOptions())
+        // O segundo job rebenta a pilha e o terceiro fica sem memória; os outros terminam na mesma.
+        val summary = JBatch(2, JBatch.inputs(script)) { arguments ->
+            when (arguments) {
+                jobs[1] -> throw StackOverflowError()
+                jobs[2] -> throw OutOfMemoryError("Java heap space")
+                else -> job(arguments)
+            }
+        }.run(jobs)
+
+        assertEquals(4, summary.jobs)
+        assertEquals(2, summary.failures)
+        assertEquals(4L, summary.files)
+        assertEquals("[\n1\n]", outputs[0].readText())
+        assertEquals("[\n1\n]", outputs[3].readText())
+        (outputs + input).forEach { it.delete() }
+    }
+}
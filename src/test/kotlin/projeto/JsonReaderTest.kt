@@ -0,0 +1,99 @@
+package projeto
+
+import org.antlr.v4.runtime.CharStreams
+import org.antlr.v4.runtime.CommonTokenStream
+import java.io.File
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class JsonReaderTest {
+
+    @Test
+    fun `reader matches the ANTLR tree`() {
+        val filename = "src/files/lei.json"
+        val parser = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromFileName(filename))))
+
+        assertEquals(parser.value().toAST(), JsonReader.parse(File(filename)))
+    }
+
+    @Test
+    fun `reader handles literals numbers and escapes`() {
+        val result = JsonReader.parse("""{"a": [true, false, null], "b": -1.5e2, "c": "x\"y", "d": {}}""")
+
+        val expected = JObject(listOf(
+            JField("a", JArray(listOf(JBoolean(true), JBoolean(false), JNull))),
+            JField("b", JNumber(-150.0)),
+            JField("c", JString("x\\\"y")),
+            JField("d", JObject(emptyList()))
+        ))
+        assertEquals(expected, result)
+    }
+
+    @Test
+    fun `memory-mapped input reads the same tree`() {
+        val file = File("src/files/lei.json")
+
+        assertEquals(JsonReader.parse(file), JsonReader(JsonInput.open(file, mmapThreshold = 0)).read())
+    }
+
+    @Test
+    fun `lazy load parses subtrees on first access`() {
+        val file = File("src/files/lei.json")
+        val lazy = JsonReader.parse(file, lazy = true) as JObject
+        val ucs = lazy.fields.single { it.name == "ucs" }.value
+
+        assertTrue(ucs is JLazyValue)
+        assertEquals((JsonReader.parse(file) as JObject).fields.single { it.name == "ucs" }.value, ucs.value)
+    }
+
+    @Test
+    fun `lazy values compare the same from both sides`() {
+        val text = """{"a": [1,  2], "b": true}"""
+        val lazy = JsonReader(ByteArrayInput(text.toByteArray()), lazy = true).read() as JObject
+        val eager = JsonReader.parse(text) as JObject
+        val a = lazy["a"]!!
+
+        assertTrue(a is JLazyValue)
+        assertFalse(a == eager["a"])
+        assertFalse(eager["a"] == a)
+        assertEquals("[1,  2]", a.toString(), "comparar não deve ler a subárvore")
+        assertEquals(eager["a"], a.resolve())
+        assertEquals(eager, lazy)
+        assertEquals(lazy, eager)
+        assertEquals(eager.hashCode(), lazy.hashCode())
+    }
+
+    @Test
+    fun `saving an untouched lazy subtree copies the original bytes`() {
+        val output = File.createTempFile("jql-lazy", ".json")
+        val doc = JsonReader(ByteArrayInput("[{\"a\":  [1,2]}, true]".toByteArray()), lazy = true).read()
+
+        JSave("\$2", "doc").run(doc, output.path)
+
+        assertEquals("[\n{\"a\":  [1,2]},\ntrue\n]", output.readText())
+        output.delete()
+    }
+
+    @Test
+    fun `homogeneous object arrays are stored by column`() {
+        val doc = JsonReader.parse("""{"ucs": [{"sigla": "IP", "horas": 4.5}, {"sigla": null, "horas": null}, {"sigla": "ELP", "horas": 3}]}""") as JObject
+        val ucs = doc["ucs"] as JArray
+        val rows = ucs.elements as JColumnarRows
+
+        assertTrue(rows.column("horas") is JDoubleColumn)
+        assertTrue(rows.column("sigla") is JStringColumn)
+        assertEquals<List<JValue>?>(listOf(JString("IP"), JNull, JString("ELP")), rows.column("sigla"))
+        assertEquals(JObject(listOf(JField("sigla", JNull), JField("horas", JNull))), ucs.elements[1])
+        assertEquals("3", rows.column("horas")!![2].toString())
+        assertEquals(JDouble(7.5), JAccumulator.aggregate("SUM", rows.column("horas")!!))
+    }
+
+    @Test
+    fun `reader rejects malformed documents`() {
+        assertFailsWith<IllegalArgumentException> { JsonReader.parse("""{"a": 1""") }
+        assertFailsWith<IllegalArgumentException> { JsonReader.parse("""[1, 2] 3""") }
+    }
+}
@@ -0,0 +1,108 @@
+package projeto
+
+import org.antlr.v4.runtime.CharStreams
+import org.antlr.v4.runtime.CommonTokenStream
+import java.io.File
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class SchedulerTest {
+
+    private fun parse(path: String): JScript {
+        val parser = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromFileName(path))))
+        return parser.script().toAst()
+    }
+
+    @Test
+    fun `assignments that only read doc depend only on the load`() {
+        val dependencies = JScriptAnalysis.dependencies(parse("src/files/teste.jql"))
+
+        assertEquals(listOf(0), dependencies[1].toList())
+        assertEquals(listOf(0), dependencies[4].toList())
+        assertEquals(listOf(2), dependencies[6].toList())
+        assertEquals(listOf(1, 3, 4, 5, 6), dependencies[7].toList())
+        assertEquals(listOf(0, 7), dependencies[8].toList())
+    }
+
+    @Test
+    fun `saves depend on what they write and the previous save`() {
+        val size = 5_000
+        val instructions = ArrayList<JInstruction>()
+        instructions.add(JLoad("\$1", "doc"))
+        for (i in 0 until size) {
+            instructions.add(JAssign("v$i", JPropertyAccess("doc", listOf("ucs"))))
+            instructions.add(JSave("\$2", "v$i"))
+        }
+        val dependencies = JScriptAnalysis.dependencies(JScript(instructions))
+
+        assertEquals(listOf(0, 1), dependencies[2].toList())
+        assertEquals(listOf(2, 3), dependencies[4].toList())
+        assertTrue(dependencies.sumOf { it.size } < 4 * instructions.size)
+    }
+
+    @Test
+    fun `parallel execution gives the same memory and files`() {
+        val sequential = File.createTempFile("jql-sequential", ".json")
+        val parallel = File.createTempFile("jql-parallel", ".json")
+        val first = JIntepreter(parse("src/files/teste.jql"))
+        val second = JIntepreter(parse("src/files/teste.jql"), JOptions(parallelism = 4))
+
+        first.run(listOf("src/files/lei.json", sequential.path))
+        second.run(listOf("src/files/lei.json", parallel.path))
+
+        assertEquals(first.memory, second.memory)
+        assertEquals(sequential.readText(), parallel.readText())
+        sequential.delete()
+        parallel.delete()
+    }
+
+    @Test
+    fun `parallel execution reports the first failing line`() {
+        fun script() = JScript(listOf(
+            JAssign("a", JValueExpression(JString("x"))),
+            JAssign("b", JValueExpression(JNumber(1))),
+            JAssign("c", JOperationsAccess(JVariable("a"), "SUM")),
+            JAssign("d", JVariable("b")),
+            JAssign("e", JOperationsAccess(JVariable("b"), "MAX"))
+        ))
+        val sequential = JIntepreter(script())
+        val parallel = JIntepreter(script(), JOptions(parallelism = 4))
+
+        repeat(20) {
+            sequential.run(emptyList())
+            parallel.run(emptyList())
+        }
+
+        assertEquals(sequential.memory, parallel.memory)
+        assertEquals(sequential.script.errorsList, parallel.script.errorsList)
+    }
+
+    @Test
+    fun `parallel runs close their own pool and leave a shared one open`() {
+        val script = parse("src/files/teste.jql")
+        val output = File.createTempFile("jql-pool", ".json")
+        fun workers() = Thread.getAllStackTraces().keys.count { it.isAlive && it.name.startsWith("ForkJoinPool-") }
+        val before = workers()
+
+        repeat(20) {
+            JIntepreter(script.copy(), JOptions(parallelism = 4)).run(listOf("src/files/lei.json", output.path))
+            JCompiler.compile(script, JOptions(parallelism = 4)).run(listOf("src/files/lei.json", output.path))
+        }
+        // Depois de shutdown as threads de um pool terminam assim que ficam sem trabalho.
+        val deadline = System.nanoTime() + 5_000_000_000L
+        while (workers() > before && System.nanoTime() < deadline) Thread.sleep(10)
+        assertEquals(before, workers())
+
+        val shared = java.util.concurrent.ForkJoinPool(4)
+        val options = JOptions(parallelism = 4, pool = shared)
+        val interpreter = JIntepreter(script.copy(), options)
+        interpreter.run(listOf("src/files/lei.json", output.path))
+        val frame = JCompiler.compile(script, options).run(listOf("src/files/lei.json", output.path))
+        assertEquals(false, shared.isShutdown)
+        assertEquals(JNumber(18), interpreter.memory["creditos"])
+        assertEquals(JNumber(18), frame["creditos"])
+        shared.shutdown()
+        output.delete()
+    }
+}
@@ -0,0 +1,181 @@
+package projeto
+
+import org.antlr.v4.runtime.CharStreams
+import org.antlr.v4.runtime.CommonTokenStream
+import java.io.File
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertTrue
+
+class ScriptAnalysisTest {
+
+    private fun parse(path: String): JScript {
+        val parser = JSONParser(CommonTokenStream(JSONLexer(CharStreams.fromFileName(path))))
+        return parser.script().toAst()
+    }
+
+    @Test
+    fun `projection keeps only the paths reaching a save`() {
+        val projections = JScriptAnalysis.projections(parse("src/files/teste.jql"), fullMemory = false)
+
+        val expected = JProjection(false, mapOf(
+            "curso" to JProjection.WHOLE,
+            "ucs" to JProjection(false, mapOf(
+                "sigla" to JProjection.WHOLE,
+                "creditos" to JProjection.EMPTY,
+                "horas" to JProjection.EMPTY
+            ))
+        ))
+        assertEquals(expected, projections["doc"])
+    }
+
+    @Test
+    fun `projected load skips unused subtrees`() {
+        val projection = JProjection(false, mapOf("ucs" to JProjection(false, mapOf("sigla" to JProjection.WHOLE))))
+
+        val result = JsonReader.parse(File("src/files/lei.json"), projection)
+
+        val expected = JObject(listOf(JField("ucs", JArray(listOf(
+            JObject(listOf(JField("sigla", JString("IP")))),
+            JObject(listOf(JField("sigla", JString("POO")))),
+            JObject(listOf(JField("sigla", JString("ELP"))))
+        )))))
+        assertEquals(expected, result)
+    }
+
+    @Test
+    fun `pruned execution saves the same document`() {
+        val full = File.createTempFile("jql-full", ".json")
+        val pruned = File.createTempFile("jql-pruned", ".json")
+        val script = parse("src/files/teste.jql")
+
+        JIntepreter(script).run(listOf("src/files/lei.json", full.path))
+        JIntepreter(script, JOptions(fullMemory = false)).run(listOf("src/files/lei.json", pruned.path))
+
+        assertEquals(full.readText(), pruned.readText())
+        full.delete()
+        pruned.delete()
+    }
+
+    @Test
+    fun `dead assignments and loads are removed`() {
+        val script = JScript(listOf(
+            JLoad("\$1", "doc"),
+            JLoad("\$2", "outro"),
+            JAssign("ucs", JPropertyAccess("doc", listOf("ucs"))),
+            JAssign("curso", JPropertyAccess("doc", listOf("curso"))),
+            JAssign("total", JOperationsAccess(JVariable("ucs"), "COUNT")),
+            JAssign("nada", JPropertyAccess("outro", listOf("x"))),
+            JAssign("resumo", JValueExpression(JObject(listOf(JField("total", JVariable("total")))))),
+            JSave("\$3", "resumo")
+        ))
+        val removed = mutableListOf<Int>()
+
+        val optimized = JOptimizer.eliminateDeadCode(script) { line, _ -> removed.add(line) }
+
+        assertEquals(listOf(2, 4, 6), removed)
+        assertEquals(listOf(1, 3, 5, 7, 8), optimized.lines)
+        assertEquals(listOf("ucs", "total", "resumo"), optimized.instructions.filterIsInstance<JAssign>().map { it.varId })
+    }
+
+    @Test
+    fun `errors keep the original line after optimization`() {
+        val script = JScript(listOf(
+            JAssign("morta", JValueExpression(JNumber(1))),
+            JAssign("a", JValueExpression(JString("x"))),
+            JAssign("b", JOperationsAccess(JVariable("a"), "SUM")),
+            JSave("\$1", "b")
+        ))
+        val optimized = JOptimizer.eliminateDeadCode(script)
+
+        JIntepreter(optimized).run(emptyList())
+
+        assertEquals(listOf<JError>(JVarError("a | SUM", 2), JVarError("b = a | SUM", 3)), optimized.errorsList)
+    }
+
+    @Test
+    fun `shared path prefixes are projected once`() {
+        val fields = JScriptAnalysis.pathFields(parse("src/files/teste.jql"))
+        val siblings = fields.getValue("doc" to "ucs")
+        val doc = JsonReader.parse("""{"ucs": [{"sigla": "IP", "horas": 4.5}, {"sigla": "POO"}], "curso": "LEI"}""")
+        val cache = JPathCache()
+
+        val siglas = cache.path(doc, "ucs", "sigla", siblings)
+
+        assertEquals(listOf("sigla", "creditos", "horas"), siblings)
+        assertEquals(JOperations.path(doc, "ucs", "sigla"), siglas)
+        assertEquals(JArray(listOf(JNumber(4.5))), cache.path(doc, "ucs", "horas", siblings))
+        assertTrue(siglas === cache.path(doc, "ucs", "sigla", siblings))
+        assertEquals("Property x not found in object", assertFailsWith<IllegalArgumentException> { cache.path(doc, "curso", "x", emptyList()) }.message)
+    }
+
+    @Test
+    fun `fused aggregates match the separate ones`() {
+        val doc = JsonReader.parse("""{"ucs": [{"c": 6, "h": 4.5}, {"c": null, "h": 2}, {"h": 3}, 7]}""")
+        val cache = JPathCache()
+
+        for (operator in JOperations.OPERATORS) {
+            for (field in listOf("c", "h")) {
+                val separate = JOperations.aggregate(operator, JOperations.path(doc, "ucs", field))
+                assertEquals(separate, cache.aggregate(doc, "ucs", field, operator, listOf("c", "h")), "$field | $operator")
+            }
+        }
+    }
+
+    @Test
+    fun `path aliases are inlined so the array is only counted`() {
+        val script = parse("src/files/teste.jql")
+        val inlined = JOptimizer.inlinePathAliases(script)
+        val expected = File.createTempFile("jql-aliased", ".json")
+        val actual = File.createTempFile("jql-inlined", ".json")
+
+        JIntepreter(script).run(listOf("src/files/lei.json", expected.path))
+        JIntepreter(inlined).run(listOf("src/files/lei.json", actual.path))
+
+        assertTrue(JPropertyAccess("doc", listOf("ucs")) in JScriptAnalysis.streamableLoads(script).getValue(0))
+        assertEquals(JOperationsAccess(JPropertyAccess("doc", listOf("ucs")), "COUNT"), (inlined.instructions[5] as JAssign).expression)
+        assertEquals(script.lines - script.lines[2], inlined.lines)
+        assertTrue(JPropertyAccess("doc", listOf("ucs")) !in JScriptAnalysis.streamableLoads(inlined).getValue(0))
+        assertEquals(expected.readText(), actual.readText())
+        expected.delete()
+        actual.delete()
+    }
+
+    @Test
+    fun `path aliases are inlined in one pass over large scripts`() {
+        val aliases = 10_000
+        val instructions = listOf(JLoad("$1", "doc")) +
+            (0 until aliases).map { JAssign("v$it", JPropertyAccess("doc", listOf("ucs"))) } +
+            (0 until aliases).map { JAssign("w$it", JPropertyAccess("v$it", listOf("sigla"))) } +
+            (0 until aliases).map { JAssign("c$it", JOperationsAccess(JVariable("w$it"), "COUNT")) } +
+            JSave("$2", "c0")
+        val inlined = JOptimizer.inlinePathAliases(JScript(instructions))
+
+        // Os aliases de aliases também desaparecem: só ficam o load, as contagens e o save.
+        assertEquals(aliases + 2, inlined.instructions.size)
+        assertEquals(JAssign("c7", JOperationsAccess(JPropertyAccess("doc", listOf("ucs", "sigla")), "COUNT")), inlined.instructions[8])
+        assertEquals(listOf(1) + (2 * aliases + 2..3 * aliases + 2), inlined.lines)
+    }
+
+    @Test
+    fun `streamed aggregates match the tree`() {
+        val file = File.createTempFile("jql-numbers", ".json")
+        file.writeText("""{"ucs": [{"c": 6, "h": 4.5}, {"c": -9007199254740993, "h": 2}, {"c": "x", "h": 1e2}, 7], "n": [1, 2.5, -3]}""")
+        val uses = listOf("c", "h").flatMap { field ->
+            JOperations.OPERATORS.map { JOperationsAccess(JPropertyAccess("doc", listOf("ucs", field)), it) }
+        } + JOperations.OPERATORS.map { JOperationsAccess(JPropertyAccess("doc", listOf("n")), it) }
+        val doc = JsonReader.parse(file)
+
+        val streamed = JLoad(file.path, "doc").stream(file.path, uses)
+
+        for (use in uses) {
+            val path = use.value as JPropertyAccess
+            val value = if (path.property.size == 1) JOperations.property(doc, path.property[0]) else JOperations.path(doc, path.property[0], path.property[1])
+            val expected = runCatching { JOperations.aggregate(use.operator, value) }
+            assertEquals(expected.getOrNull(), streamed.getValue(use).getOrNull(), "$use")
+            assertEquals(expected.exceptionOrNull()?.message, streamed.getValue(use).exceptionOrNull()?.message, "$use")
+        }
+        file.delete()
+    }
+}
@@ -0,0 +1,76 @@
+package projeto
+
+import java.io.File
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class StreamingTest {
+
+    private fun stream(json: String, vararg expressions: JExpression): Map<JExpression, Result<JValue>> {
+        val file = File.createTempFile("jql-stream", ".json")
+        try {
+            file.writeText(json)
+            return JLoad("\$1", "doc").stream(file.path, expressions.toList())
+        } finally {
+            file.delete()
+        }
+    }
+
+    @Test
+    fun `streaming answers paths and aggregates`() {
+        val siglas = JPropertyAccess("doc", listOf("ucs", "sigla"))
+        val creditos = JOperationsAccess(JPropertyAccess("doc", listOf("ucs", "creditos")), "SUM")
+        val total = JOperationsAccess(JPropertyAccess("doc", listOf("ucs")), "COUNT")
+        val curso = JPropertyAccess("doc", listOf("curso"))
+
+        val results = stream(File("src/files/lei.json").readText(), siglas, creditos, total, curso)
+
+        assertEquals(JArray(listOf(JString("IP"), JString("POO"), JString("ELP"))), results.getValue(siglas).getOrThrow())
+        assertEquals(JNumber(18.0), results.getValue(creditos).getOrThrow())
+        assertEquals(JNumber(3), results.getValue(total).getOrThrow())
+        assertEquals(JString("FINAL ELP"), results.getValue(curso).getOrThrow())
+    }
+
+    @Test
+    fun `streaming reports the interpreter errors`() {
+        val missing = JPropertyAccess("doc", listOf("nada"))
+        val notArray = JPropertyAccess("doc", listOf("curso", "sigla"))
+        val max = JOperationsAccess(JPropertyAccess("doc", listOf("ucs", "nada")), "MAX")
+
+        val results = stream("""{"curso": "LEI", "ucs": [{"sigla": "IP"}, 3, [1]]}""", missing, notArray, max)
+
+        assertEquals("Property nada not found in object", results.getValue(missing).exceptionOrNull()?.message)
+        assertEquals("Property sigla not found in object", results.getValue(notArray).exceptionOrNull()?.message)
+        assertTrue(results.getValue(max).exceptionOrNull() is NoSuchElementException)
+    }
+
+    @Test
+    fun `documents used whole are not streamed`() {
+        val script = JScript(listOf(
+            JLoad("\$1", "a"),
+            JLoad("\$2", "b"),
+            JAssign("x", JOperationsAccess(JPropertyAccess("a", listOf("ucs", "horas")), "MAX")),
+            JAssign("y", JPropertyAccess("b", listOf("ucs"))),
+            JSave("\$3", "b")
+        ))
+
+        assertEquals(setOf(0), JScriptAnalysis.streamableLoads(script).keys)
+    }
+
+    @Test
+    fun `streamed quantiles match the ones over the whole array`() {
+        val json = (0 until 50_000).joinToString(",", "{\"pedidos\": [", "]}") { "{\"ms\": ${(it * 7919) % 50_000}}" }
+        val quantiles = JOperations.QUANTILE_OPERATORS.keys.map { JOperationsAccess(JPropertyAccess("doc", listOf("pedidos", "ms")), it) }
+
+        val results = stream(json, *quantiles.toTypedArray())
+
+        val ms = JOperations.path(JsonReader.parse(json), "pedidos", "ms")
+        for (quantile in quantiles) {
+            assertEquals(JOperations.aggregate(quantile.operator, ms), results.getValue(quantile).getOrThrow(), quantile.operator)
+        }
+        // 0..49999 numa ordem baralhada: o KLL fica a menos de 1,7% de n do rank exato.
+        val p95 = (results.getValue(quantiles[3]).getOrThrow() as JLong).value
+        assertTrue(Math.abs(p95 - 47_499) < 50_000 * 0.017, "$p95")
+    }
+}